@@ -18,6 +18,7 @@ import {
   startTransaction,
 } from './src/libs/sentry/sentryHelper';
 import AndroidPermissions from './src/services/AndroidPermissions';
+import PerfBridge from './src/services/PerfBridge';
 import logger from './src/services/logger';
 
 const {
@@ -61,6 +62,7 @@ if (!Intl.PluralRules) register();
 const App = () => {
   logger.debug(NAMESPACE, 'render');
   useEffect(() => {
+    PerfBridge.markStartup('js.app_mounted');
     logger.debug(NAMESPACE, 'startTransaction');
     startTransaction(APP_SESSION, 'App Session', 'app.lifecycle');
     return () => {
@@ -0,0 +1,17 @@
+package com.galaxy_mobile;
+
+/**
+ * Delivery class of a native-to-JS event; each class has its own queue in
+ * {@link SendEventToClient} and higher classes are always emitted first
+ */
+public enum EventPriority {
+    /** Must reach JS as soon as possible, e.g. call state; never dropped */
+    CRITICAL,
+    /** App state updates; never dropped */
+    NORMAL,
+    /**
+     * Diagnostics and progress; emitted only when nothing else is queued and
+     * discarded under backpressure
+     */
+    DROPPABLE
+}
@@ -0,0 +1,101 @@
+package com.galaxy_mobile;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.WritableMap;
+import com.galaxy_mobile.perf.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Latest undelivered event per key, held while the React context is missing
+ * or inactive or JS has not registered its listeners yet, and replayed in
+ * order once it is ready.
+ *
+ * The key is the event name, except for {@link SendEventToClient#SYSTEM_EVENT}
+ * which is keyed by its action so e.g. a PiP change does not replace a
+ * screen-off. Bounded by {@link #MAX_EVENTS} keys and {@link #MAX_AGE_MS}.
+ * A terminate system event is never held: replaying it would close the next
+ * session.
+ */
+final class EventReplayBuffer {
+    static final int MAX_EVENTS = 32;
+    static final long MAX_AGE_MS = 60_000;
+    private static final String TERMINATE_KEY = SendEventToClient.SYSTEM_EVENT + ":terminate";
+
+    static final class Entry {
+        final String eventName;
+        @Nullable
+        final WritableMap params;
+        final long bufferedAtMs;
+
+        Entry(String eventName, @Nullable WritableMap params, long bufferedAtMs) {
+            this.eventName = eventName;
+            this.params = params;
+            this.bufferedAtMs = bufferedAtMs;
+        }
+
+        long ageMs(long now) {
+            return now - bufferedAtMs;
+        }
+    }
+
+    // Insertion order is the order of the latest update of each key
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    synchronized void add(String eventName, @Nullable WritableMap params) {
+        String key = key(eventName, params);
+        if (TERMINATE_KEY.equals(key)) {
+            return;
+        }
+        // Re-inserting moves the key to the end
+        if (entries.remove(key) != null) {
+            MetricsRegistry.counter("event.replay_replaced").increment();
+        } else if (entries.size() >= MAX_EVENTS) {
+            Iterator<String> oldest = entries.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+            MetricsRegistry.counter("event.replay_dropped").increment();
+        }
+        entries.put(key, new Entry(eventName, params, SystemClock.elapsedRealtime()));
+    }
+
+    synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Removes and returns the buffered events whose name is ready and that
+     * are not older than {@link #MAX_AGE_MS}, oldest first; expired events are
+     * removed, the others stay buffered
+     */
+    synchronized List<Entry> drain(long now, Predicate<String> ready) {
+        List<Entry> fresh = new ArrayList<>(entries.size());
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entry.ageMs(now) > MAX_AGE_MS) {
+                iterator.remove();
+                MetricsRegistry.counter("event.replay_expired").increment();
+            } else if (ready.test(entry.eventName)) {
+                iterator.remove();
+                fresh.add(entry);
+            }
+        }
+        return fresh;
+    }
+
+    private static String key(String eventName, @Nullable WritableMap params) {
+        if (SendEventToClient.SYSTEM_EVENT.equals(eventName) && params != null && params.hasKey("action")) {
+            return eventName + ":" + params.getString("action");
+        }
+        return eventName;
+    }
+}
@@ -4,28 +4,36 @@ import android.os.Build;
 import android.util.Log;
 import com.galaxy_mobile.logger.GxyLogger;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 
-import com.facebook.react.ReactPackage;
+import com.facebook.react.BaseReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 import com.facebook.react.uimanager.ViewManager;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.galaxy_mobile.audioManager.AudioDeviceModule;
 import com.galaxy_mobile.callManager.CallListenerModule;
 import com.galaxy_mobile.uiState.GxyUIStateModule;
 import com.galaxy_mobile.permissions.PermissionsModule;
+import com.galaxy_mobile.perf.PerfModule;
 import com.galaxy_mobile.SendLogsModule;
 import com.galaxy_mobile.SendEventToClient;
 
 /**
- * React Native package that registers Galaxy native modules
+ * React Native package that registers Galaxy native modules.
+ *
+ * Modules are created lazily, on first use from JS or from
+ * {@code ReactContext.getNativeModule}, instead of all at context creation.
  */
-public class GxyPackage implements ReactPackage {
+public class GxyPackage extends BaseReactPackage {
 
     private static final String TAG = "GxyPackage";
 
@@ -34,24 +42,56 @@ public class GxyPackage implements ReactPackage {
         return Collections.emptyList();
     }
 
+    @Nullable
     @Override
-    public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-        List<NativeModule> modules = new ArrayList<>();
-        GxyLogger.i(TAG, "Creating Galaxy native modules");
-
+    public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+        GxyLogger.i(TAG, "Creating native module {}", name);
+        // Also set in onReactContextInitialized; events sent before are buffered
         SendEventToClient.init(reactContext);
-        // Add modules
         try {
-            GxyLogger.i(TAG, "Adding standard modules");
-            modules.add(new PermissionsModule(reactContext));
-            modules.add(new AudioDeviceModule(reactContext));
-            modules.add(new CallListenerModule(reactContext));
-            modules.add(new SendLogsModule(reactContext));
-            modules.add(new GxyUIStateModule(reactContext));
+            switch (name) {
+                case PermissionsModule.NAME:
+                    return new PermissionsModule(reactContext);
+                case AudioDeviceModule.NAME:
+                    return new AudioDeviceModule(reactContext);
+                case CallListenerModule.NAME:
+                    return new CallListenerModule(reactContext);
+                case SendLogsModule.NAME:
+                    return new SendLogsModule(reactContext);
+                case GxyUIStateModule.NAME:
+                    return new GxyUIStateModule(reactContext);
+                case PerfModule.NAME:
+                    return new PerfModule(reactContext);
+                default:
+                    return null;
+            }
         } catch (Exception e) {
-            GxyLogger.e(TAG, "Error creating standard modules: " + e.getMessage(), e);
+            GxyLogger.e(TAG, "Error creating module " + name + ": " + e.getMessage(), e);
+            return null;
         }
+    }
+
+    @Override
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        return () -> {
+            Map<String, ReactModuleInfo> modules = new HashMap<>();
+            addModule(modules, PermissionsModule.NAME, PermissionsModule.class);
+            addModule(modules, AudioDeviceModule.NAME, AudioDeviceModule.class);
+            addModule(modules, CallListenerModule.NAME, CallListenerModule.class);
+            addModule(modules, SendLogsModule.NAME, SendLogsModule.class);
+            addModule(modules, GxyUIStateModule.NAME, GxyUIStateModule.class);
+            addModule(modules, PerfModule.NAME, PerfModule.class);
+            return modules;
+        };
+    }
 
-        return modules;
+    private static void addModule(Map<String, ReactModuleInfo> modules, String name, Class<?> moduleClass) {
+        modules.put(name, new ReactModuleInfo(
+                name,
+                moduleClass.getName(),
+                false, // canOverrideExistingModule
+                false, // needsEagerInit
+                false, // isCxxModule
+                false)); // isTurboModule: legacy modules, see MainApplication.isNewArchEnabled
     }
-}
\ No newline at end of file
+}
@@ -19,10 +19,12 @@ import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.defaults.DefaultReactActivityDelegate;
 import com.galaxy_mobile.logger.GxyLogger;
 import com.galaxy_mobile.logger.GxyLoggerUtils;
+import com.galaxy_mobile.perf.MainThreadWatchdog;
+import com.galaxy_mobile.perf.StartupTracer;
 import com.galaxy_mobile.permissions.PermissionHelper;
 import com.galaxy_mobile.SendEventToClient;
 import com.oney.WebRTCModule.WebRTCModuleOptions;
-import com.galaxy_mobile.uiState.GxyUIStateModule;
+import com.galaxy_mobile.state.NativeStateBus;
 
 
 import org.webrtc.audio.JavaAudioDeviceModule;
@@ -47,6 +49,7 @@ public class MainActivity extends ReactActivity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        StartupTracer.mark(StartupTracer.ACTIVITY_CREATE_START);
         super.onCreate(savedInstanceState);
         setVolumeControlStream(AudioManager.STREAM_VOICE_CALL);
 
@@ -58,6 +61,7 @@ public class MainActivity extends ReactActivity {
         options.audioDeviceModule = JavaAudioDeviceModule.builder(this)
                 .setAudioAttributes(audioAttributes)
                 .createAudioDeviceModule();
+        StartupTracer.mark(StartupTracer.AUDIO_DEVICE_MODULE_CREATED);
 
         permissionHelper = new PermissionHelper(this);
 
@@ -68,6 +72,12 @@ public class MainActivity extends ReactActivity {
         getReactInstanceManager().addReactInstanceEventListener(new ReactInstanceManager.ReactInstanceEventListener() {
             @Override
             public void onReactContextInitialized(ReactContext context) {
+                StartupTracer.mark(StartupTracer.REACT_CONTEXT_READY);
+                // Startup is done: from here on, main-thread blocking is a stall
+                MainThreadWatchdog.start(MainThreadWatchdog.DEFAULT_THRESHOLD_MS);
+                // Modules are created lazily, so none may have set the context yet.
+                // Held events are replayed once JS calls markEventsReady.
+                SendEventToClient.init(context);
                 GxyLogger.i("ReactContext",
                         "Updating PermissionHelper with ReactApplicationContext. Permissions ready: "
                                 + permissionHelper.permissionsReady);
@@ -78,12 +88,13 @@ public class MainActivity extends ReactActivity {
                 }
             }
         });
+        StartupTracer.mark(StartupTracer.ACTIVITY_CREATE_END);
     }
 
     @Override
     public void onUserLeaveHint() {
         GxyLogger.d(TAG, "onUserLeaveHint");
-        if (GxyUIStateModule.isInRoom) {
+        if (NativeStateBus.IN_ROOM.get()) {
             enterPictureInPictureMode();
         }
         super.onUserLeaveHint();
@@ -93,6 +104,7 @@ public class MainActivity extends ReactActivity {
     public void onPictureInPictureModeChanged(boolean isInPictureInPictureMode) {
         GxyLogger.d(TAG, "onPictureInPictureModeChanged: " + isInPictureInPictureMode);
         super.onPictureInPictureModeChanged(isInPictureInPictureMode);
+        NativeStateBus.PIP_MODE.publish(isInPictureInPictureMode, NativeStateBus.SOURCE_SYSTEM);
         WritableMap data = Arguments.createMap();
         data.putString("action", "is_pip_mode");
         data.putBoolean("active", isInPictureInPictureMode);
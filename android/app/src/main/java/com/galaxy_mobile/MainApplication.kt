@@ -5,6 +5,13 @@ import android.content.Context
 import android.media.AudioManager
 import android.util.Log
 import com.galaxy_mobile.logger.GxyLogger
+import com.galaxy_mobile.logger.LogJournal
+import com.galaxy_mobile.logger.LogLevelRegistry
+import com.galaxy_mobile.logger.LogOverflowPolicy
+import com.galaxy_mobile.logger.SentryDispatcher
+import com.galaxy_mobile.perf.MainThreadWatchdog
+import com.galaxy_mobile.perf.ProcessSampler
+import com.galaxy_mobile.perf.StartupTracer
 import com.facebook.react.PackageList
 import com.facebook.react.ReactApplication
 import com.facebook.react.ReactInstanceManager
@@ -38,19 +45,34 @@ class MainApplication : Application(), ReactApplication {
 
     override fun onCreate() {
         super.onCreate()
+        StartupTracer.mark(StartupTracer.APP_CREATE_START)
         instance = this
 
+        GxyLogger.setCallerInfoEnabled(BuildConfig.DEBUG)
+        // Levels set from JS (SendLogsModule.setLogLevels) override this default
+        LogLevelRegistry.init(this, if (BuildConfig.DEBUG) GxyLogger.VERBOSE else GxyLogger.WARN)
+        LogJournal.init(this)
+        GxyLogger.startAsync(LOG_BUFFER_CAPACITY, LogOverflowPolicy.DROP_DEBUG_FIRST)
+
+        // MainThreadWatchdog is started by MainActivity once startup is done
+        ProcessSampler.start(ProcessSampler.DEFAULT_PERIOD_MS)
+
         SoLoader.init(this, OpenSourceMergedSoMapping)
+        StartupTracer.mark(StartupTracer.SOLOADER_LOADED)
         
         if (BuildConfig.IS_NEW_ARCHITECTURE_ENABLED) {
             DefaultNewArchitectureEntryPoint.load()
         }
         
         isCleaningUp = false
+        StartupTracer.mark(StartupTracer.APP_CREATE_END)
     }
 
     companion object {
         private const val TAG = "MainApplication"
+        private const val LOG_BUFFER_CAPACITY = 2048
+        private const val LOG_FLUSH_TIMEOUT_MS = 300L
+        private const val SENTRY_FLUSH_TIMEOUT_MS = 1000L
         
         @Volatile
         private var instance: MainApplication? = null
@@ -67,6 +89,8 @@ class MainApplication : Application(), ReactApplication {
             isCleaningUp = true
 
             GxyLogger.i(TAG, "Starting cleanup")
+            // The cleanup below blocks the main thread on purpose
+            MainThreadWatchdog.stop()
 
             // 1. Notify JS side and destroy React Native context
             try {
@@ -76,7 +100,7 @@ class MainApplication : Application(), ReactApplication {
                             if (reactContext.hasActiveCatalystInstance()) {
                                 val params: WritableMap = Arguments.createMap()
                                 params.putString("action", "terminate")
-                                SendEventToClient.sendEvent(SendEventToClient.SYSTEM_EVENT, params)
+                                SendEventToClient.sendEvent(SendEventToClient.SYSTEM_EVENT, params, EventPriority.CRITICAL)
                                 GxyLogger.d(TAG, "Sent termination signal to JS - Activity status: irrelevant")
                                 Thread.sleep(1000)
                             }
@@ -102,9 +126,9 @@ class MainApplication : Application(), ReactApplication {
                 GxyLogger.e(TAG, "Error resetting audio", e)
             }
 
-            // 3. Flush Sentry
+            // 3. Flush queued Sentry reports and the Sentry transport
             try {
-                io.sentry.Sentry.flush(1000)
+                SentryDispatcher.flush(SENTRY_FLUSH_TIMEOUT_MS)
             } catch (e: Exception) {
                 GxyLogger.e(TAG, "Error flushing Sentry", e)
             }
@@ -118,6 +142,7 @@ class MainApplication : Application(), ReactApplication {
                 Thread.sleep(500)
 
                 GxyLogger.i(TAG, "Cleanup completed - terminating process")
+                GxyLogger.flush(LOG_FLUSH_TIMEOUT_MS)
 
                 // More aggressive process termination
                 android.os.Process.killProcess(android.os.Process.myPid())
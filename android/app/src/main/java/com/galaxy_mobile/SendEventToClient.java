@@ -1,44 +1,336 @@
 package com.galaxy_mobile;
 
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.os.SystemClock;
 import android.util.Log;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.EventLatencyProbe;
+import com.galaxy_mobile.perf.GxyTrace;
+import com.galaxy_mobile.perf.MetricsRegistry;
 
 import androidx.annotation.Nullable;
 
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Native-to-JS events.
+ *
+ * {@link #sendEvent} only enqueues and returns; all events are logged and
+ * emitted on a single {@link #THREAD_NAME} thread, so callers on the main
+ * thread do not pay for logging and serialization.
+ *
+ * Each {@link EventPriority} has its own queue. Queued critical events are
+ * always emitted before normal ones, and normal before droppable ones;
+ * within a priority, events keep their publish order. Droppable events are
+ * discarded when their queue is full, when they waited longer than
+ * {@link #DROPPABLE_MAX_WAIT_MS} or when the React context is not active.
+ *
+ * Until JS calls {@link #markJsReady} for the current context with an event's
+ * name, i.e. has registered a listener for it, other events are held in an
+ * {@link EventReplayBuffer} instead of being emitted to no listener, and
+ * replayed once it does. Readiness is per name because JS registers its
+ * listeners at different times (permissions first, services and audio
+ * devices only once the app is initialized).
+ */
 public class SendEventToClient {
     static final String TAG = SendEventToClient.class.getSimpleName();
-    static ReactContext context = null;
+    static volatile ReactContext context = null;
 
     public static final String SYSTEM_EVENT = "system_event";
+    // Added to replayed events: ms between the event and its delivery
+    public static final String REPLAY_AGE_KEY = "replayAgeMs";
+
+    private static final String THREAD_NAME = "GxyEventEmitter";
+
+    // Critical and normal events carry state JS must not miss, so their
+    // capacities only trigger a warning
+    private static final int CRITICAL_CAPACITY = 64;
+    private static final int NORMAL_CAPACITY = 256;
+    private static final int DROPPABLE_CAPACITY = 32;
+    private static final long DROPPABLE_MAX_WAIT_MS = 2_000;
+    // Held events are released anyway if JS never signals it is ready
+    private static final long JS_READY_TIMEOUT_MS = 30_000;
+
+    private static final class QueuedEvent {
+        final String eventName;
+        @Nullable
+        final WritableMap params;
+        final EventPriority priority;
+        final long publishedNanos;
+
+        QueuedEvent(String eventName, @Nullable WritableMap params, EventPriority priority, long publishedNanos) {
+            this.eventName = eventName;
+            this.params = params;
+            this.priority = priority;
+            this.publishedNanos = publishedNanos;
+        }
+    }
+
+    private static final class Lane {
+        final ConcurrentLinkedQueue<QueuedEvent> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final int capacity;
+        final String queueWaitMetric;
+
+        Lane(EventPriority priority, int capacity) {
+            this.capacity = capacity;
+            this.queueWaitMetric = "event.queue_wait." + priority.name().toLowerCase(Locale.US);
+        }
+
+        @Nullable
+        QueuedEvent poll() {
+            QueuedEvent event = queue.poll();
+            if (event != null) {
+                size.decrementAndGet();
+            }
+            return event;
+        }
+    }
+
+    private static final Lane criticalLane = new Lane(EventPriority.CRITICAL, CRITICAL_CAPACITY);
+    private static final Lane normalLane = new Lane(EventPriority.NORMAL, NORMAL_CAPACITY);
+    private static final Lane droppableLane = new Lane(EventPriority.DROPPABLE, DROPPABLE_CAPACITY);
+    // Set while a drain is posted, so a burst of events posts one drain
+    private static final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private static final Handler emitterHandler = createEmitterHandler();
+    private static final Runnable drainRunnable = SendEventToClient::drain;
+
+    // Emitter thread only: events sent while the React context was missing or
+    // inactive, or before JS was ready
+    private static final EventReplayBuffer pending = new EventReplayBuffer();
+    // Emitter thread only: the context whose JS marked events ready, the
+    // names it did, or all names once the fallback timeout released them
+    @Nullable
+    private static ReactContext jsReadyContext;
+    private static final Set<String> readyEvents = new HashSet<>();
+    private static boolean allEventsReady;
 
     static public void init(ReactContext context) {
+        if (SendEventToClient.context == context) {
+            return;
+        }
         SendEventToClient.context = context;
+        emitterHandler.postDelayed(() -> {
+            // Only if JS never marked any event ready, e.g. a bundle without markEventsReady
+            if (jsReadyContext != context && SendEventToClient.context == context) {
+                GxyLogger.w(TAG, "JS did not mark events ready within {} ms, releasing held events",
+                        JS_READY_TIMEOUT_MS);
+                markReady(context, null);
+            }
+        }, JS_READY_TIMEOUT_MS);
+    }
+
+    private static Handler createEmitterHandler() {
+        // Just below the main thread, but not in the background group: audio
+        // routing and call events are latency sensitive
+        HandlerThread thread = new HandlerThread(THREAD_NAME,
+                Process.THREAD_PRIORITY_DEFAULT + Process.THREAD_PRIORITY_LESS_FAVORABLE);
+        thread.start();
+        return new Handler(thread.getLooper());
     }
 
+    /**
+     * Queues a {@link EventPriority#NORMAL} event
+     */
     public static void sendEvent(final String eventName, @Nullable WritableMap params) {
+        sendEvent(eventName, params, EventPriority.NORMAL);
+    }
+
+    /**
+     * Queues the event for the emitter thread and returns immediately; params
+     * must not be used by the caller afterwards
+     */
+    public static void sendEvent(final String eventName, @Nullable WritableMap params, EventPriority priority) {
+        Lane lane = lane(priority);
+        lane.queue.offer(new QueuedEvent(eventName, params, priority, System.nanoTime()));
+        if (lane.size.incrementAndGet() > lane.capacity) {
+            if (priority == EventPriority.DROPPABLE) {
+                // Newer diagnostics supersede older ones
+                if (lane.poll() != null) {
+                    MetricsRegistry.counter("event.dropped").increment();
+                }
+            } else {
+                MetricsRegistry.counter("event.queue_overflow").increment();
+                GxyLogger.w(TAG, "{} event queue over capacity, {} queued", priority, lane.size.get());
+            }
+        }
+        if (drainScheduled.compareAndSet(false, true)) {
+            emitterHandler.post(drainRunnable);
+        }
+    }
+
+    private static Lane lane(EventPriority priority) {
+        switch (priority) {
+            case CRITICAL:
+                return criticalLane;
+            case DROPPABLE:
+                return droppableLane;
+            default:
+                return normalLane;
+        }
+    }
+
+    /**
+     * Called from JS as it registers listeners: held events with these names
+     * are replayed and later ones are emitted directly
+     */
+    public static void markJsReady(ReactContext reactContext, List<String> eventNames) {
+        emitterHandler.post(() -> markReady(reactContext, eventNames));
+    }
+
+    /**
+     * Emitter thread
+     *
+     * @param eventNames null for all events
+     */
+    private static void markReady(ReactContext reactContext, @Nullable List<String> eventNames) {
+        if (jsReadyContext != reactContext) {
+            jsReadyContext = reactContext;
+            readyEvents.clear();
+            allEventsReady = false;
+        }
+        if (eventNames == null) {
+            allEventsReady = true;
+        } else {
+            readyEvents.addAll(eventNames);
+        }
+        GxyLogger.i(TAG, "JS ready for events: {}", eventNames == null ? "all" : eventNames);
+        if (pending.isEmpty() || reactContext != SendEventToClient.context
+                || !reactContext.hasActiveCatalystInstance()) {
+            return;
+        }
         try {
-            if (SendEventToClient.context == null) {
-                GxyLogger.w(TAG, "sendEvent() BLOCKED - ReactContext is NULL. EventName: " + eventName);
+            replayPending(emitter(reactContext));
+        } catch (Exception e) {
+            GxyLogger.e(TAG, "Error replaying buffered events", e);
+        }
+    }
+
+    // Emitter thread; the names marked ready for jsReadyContext
+    private static boolean isReady(String eventName) {
+        return allEventsReady || readyEvents.contains(eventName);
+    }
+
+    private static void drain() {
+        // Cleared first: an event offered after this point schedules a new drain
+        drainScheduled.set(false);
+        QueuedEvent event;
+        while ((event = nextEvent()) != null) {
+            emit(event);
+        }
+    }
+
+    /**
+     * Highest priority queued event; lanes are re-checked after every emit so
+     * a critical event published mid-burst goes next
+     */
+    @Nullable
+    private static QueuedEvent nextEvent() {
+        QueuedEvent event = criticalLane.poll();
+        if (event != null) {
+            return event;
+        }
+        event = normalLane.poll();
+        if (event != null) {
+            return event;
+        }
+        while ((event = droppableLane.poll()) != null) {
+            long waitedMs = (System.nanoTime() - event.publishedNanos) / 1_000_000;
+            if (waitedMs <= DROPPABLE_MAX_WAIT_MS) {
+                return event;
+            }
+            MetricsRegistry.counter("event.dropped").increment();
+        }
+        return null;
+    }
+
+    private static void emit(QueuedEvent event) {
+        String eventName = event.eventName;
+        WritableMap params = event.params;
+        GxyTrace.begin("SendEventToClient.emit");
+        try {
+            MetricsRegistry.histogram(lane(event.priority).queueWaitMetric).recordSince(event.publishedNanos);
+            ReactContext reactContext = SendEventToClient.context;
+            if (event.priority == EventPriority.DROPPABLE
+                    && (reactContext == null || !reactContext.hasActiveCatalystInstance())) {
+                MetricsRegistry.counter("event.dropped").increment();
+                return;
+            }
+            if (reactContext == null) {
+                MetricsRegistry.counter("event.blocked").increment();
+                GxyLogger.w(TAG, "sendEvent() BUFFERED - ReactContext is NULL. EventName: " + eventName);
+                pending.add(eventName, params);
                 return;
             }
 
-            if (!SendEventToClient.context.hasActiveCatalystInstance()) {
-                GxyLogger.w(TAG, "sendEvent() BLOCKED - CatalystInstance is NOT active. EventName: " + eventName);
+            if (!reactContext.hasActiveCatalystInstance()) {
+                MetricsRegistry.counter("event.blocked").increment();
+                GxyLogger.w(TAG, "sendEvent() BUFFERED - CatalystInstance is NOT active. EventName: " + eventName);
+                pending.add(eventName, params);
                 return;
             }
 
-            GxyLogger.d(TAG, "Emitting event to JavaScript: " + eventName + " with params: " + params.toString());
-            SendEventToClient.context
-                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                    .emit(eventName, params);
-            GxyLogger.d(TAG, "Event emitted successfully: " + eventName);
+            if (jsReadyContext != reactContext || !isReady(eventName)) {
+                if (event.priority == EventPriority.DROPPABLE) {
+                    MetricsRegistry.counter("event.dropped").increment();
+                    return;
+                }
+                MetricsRegistry.counter("event.blocked").increment();
+                GxyLogger.d(TAG, "sendEvent() BUFFERED - JS listeners not ready. EventName: {}", eventName);
+                pending.add(eventName, params);
+                return;
+            }
+
+            GxyLogger.d(TAG, "Emitting event to JavaScript: {} with params: {}", eventName, params);
+            long start = System.nanoTime();
+            DeviceEventManagerModule.RCTDeviceEventEmitter emitter = emitter(reactContext);
+            if (!pending.isEmpty()) {
+                replayPending(emitter);
+            }
+            WritableMap probe = EventLatencyProbe.stamp(eventName, event.publishedNanos);
+            if (probe != null) {
+                // Delivered in order, right before the event itself
+                emitter.emit(EventLatencyProbe.PROBE_EVENT, probe);
+            }
+            emitter.emit(eventName, params);
+            MetricsRegistry.histogram("event.send").recordSince(start);
+            MetricsRegistry.counter("event.sent").increment();
+            GxyLogger.d(TAG, "Event emitted successfully: {}", eventName);
 
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error sending event '" + eventName + "': ", e);
+        } finally {
+            GxyTrace.end();
+        }
+    }
+
+    private static DeviceEventManagerModule.RCTDeviceEventEmitter emitter(ReactContext reactContext) {
+        return reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class);
+    }
+
+    private static void replayPending(DeviceEventManagerModule.RCTDeviceEventEmitter emitter) {
+        long now = SystemClock.elapsedRealtime();
+        List<EventReplayBuffer.Entry> entries = pending.drain(now, SendEventToClient::isReady);
+        for (EventReplayBuffer.Entry entry : entries) {
+            long ageMs = entry.ageMs(now);
+            WritableMap params = entry.params != null ? entry.params : Arguments.createMap();
+            params.putDouble(REPLAY_AGE_KEY, ageMs);
+            GxyLogger.i(TAG, "Replaying event {} buffered {} ms ago", entry.eventName, ageMs);
+            emitter.emit(entry.eventName, params);
+            MetricsRegistry.counter("event.replayed").increment();
         }
     }
 }
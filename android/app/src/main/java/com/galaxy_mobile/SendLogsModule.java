@@ -1,18 +1,45 @@
 package com.galaxy_mobile;
 
+import android.os.Process;
 import androidx.annotation.NonNull;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.GxyTrace;
+import com.galaxy_mobile.perf.MetricsRegistry;
+import com.galaxy_mobile.perf.ProcessSampler;
+import com.galaxy_mobile.logger.LogBundleWriter;
+import com.galaxy_mobile.logger.LogJournal;
+import com.galaxy_mobile.logger.LogcatCapture;
+import com.galaxy_mobile.logger.LogLevelRegistry;
+import com.galaxy_mobile.logger.SentryDispatcher;
 import com.galaxy_mobile.logger.SentryUtils;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Module for collecting and sending application logs
@@ -22,9 +49,33 @@ public class SendLogsModule extends ReactContextBaseJavaModule {
     public static final String NAME = "SendLogsModule";
     private static final String TAG = "SendLogsModule";
     private final ReactApplicationContext reactContext;
-    private static final int MAX_LINES = 1000;
+    // One thread runs the job, the other its timeout
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
+    private SendLogsJob currentJob = null;
+    private static final long SEND_TIMEOUT_SECONDS = 90;
+    private static final long UPLOAD_FLUSH_TIMEOUT_MS = 30_000;
+    private static final String EVENT_SEND_LOGS_PROGRESS = "sendLogsProgress";
+    private static final String THREAD_NAME = "GxySendLogs";
+    private static final long LOGCAT_WINDOW_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final String LOGCAT_FILTER_SPEC = "*:I";
 
-    // Package name for filtering logs
+    private static final String BUNDLE_DIRECTORY = "log-bundles";
+    // Bundles of uploads still pending after their job ended are kept this long
+    private static final long PENDING_BUNDLE_TTL_MS = TimeUnit.HOURS.toMillis(1);
+    private static final String BUNDLE_NAME = "application-logs";
+    private static final String TRACE_FILE_NAME = "native-trace.json.gz";
+    // Well below Sentry's default 20 MiB attachment limit
+    private static final long MAX_PART_BYTES = 5 * 1024 * 1024;
+    private static final long MAX_BUNDLE_BYTES = 4 * MAX_PART_BYTES;
+
+    // Package name for the log header
     private static final String PACKAGE_NAME = "com.galaxy_mobile";
 
     public SendLogsModule(ReactApplicationContext reactContext) {
@@ -40,98 +91,414 @@ public class SendLogsModule extends ReactContextBaseJavaModule {
     }
 
     /**
-     * Collects application logs from logcat
+     * Collects application logs from the log journal and sends them to Sentry.
+     * Runs on a dedicated executor so the native-modules thread stays free;
+     * progress is reported through {@link #EVENT_SEND_LOGS_PROGRESS} events.
      * 
-     * @param promise Promise to resolve with log string or reject with error
+     * @param promise Promise to resolve with a status message or reject with error
      */
     @ReactMethod
     public void sendLogs(String email, Promise promise) {
+        MetricsRegistry.counter("SendLogsModule.sendLogs").increment();
         GxyLogger.d(TAG, "Getting application logs for email: " + email);
 
-        try {
-            String logs = collectLogs();
-            if (logs != null && !logs.isEmpty()) {
-                // Send logs to Sentry with attachment
-                sendLogsToSentry(email, logs);
-                promise.resolve("Logs sent successfully");
-            } else {
-                GxyLogger.w(TAG, "No logs collected");
-                promise.resolve("No logs available. Logs may not be accessible in production builds.");
+        synchronized (this) {
+            if (currentJob != null) {
+                promise.reject("SEND_LOGS_IN_PROGRESS", "Logs are already being sent");
+                return;
+            }
+            SendLogsJob job = new SendLogsJob(email, promise);
+            try {
+                job.work = executor.submit(job);
+                job.timeout = executor.schedule(job::timeOut, SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                currentJob = job;
+            } catch (RejectedExecutionException e) {
+                promise.reject("LOG_COLLECTION_ERROR", "Log sender is shut down", e);
             }
-        } catch (SecurityException e) {
-            GxyLogger.w(TAG, "Security exception - logcat access denied: " + e.getMessage());
-            promise.reject("LOG_ACCESS_DENIED", "Permission required to read system logs.", e);
-        } catch (Exception e) {
-            GxyLogger.e(TAG, "Error collecting logs: " + e.getMessage(), e);
-            promise.reject("LOG_COLLECTION_ERROR", "Failed to collect logs: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Collects logs from logcat
-     * Note: In production builds, logcat access may be restricted
+     * Cancels a running sendLogs; its promise is rejected with SEND_LOGS_CANCELLED
+     *
+     * @param promise resolves to true if a send was running
      */
-    private String collectLogs() {
-        Process process = null;
-        BufferedReader reader = null;
-        StringBuilder logs = new StringBuilder();
+    @ReactMethod
+    public void cancelSendLogs(Promise promise) {
+        MetricsRegistry.counter("SendLogsModule.cancelSendLogs").increment();
+        SendLogsJob job;
+        synchronized (this) {
+            job = currentJob;
+        }
+        if (job == null) {
+            promise.resolve(false);
+            return;
+        }
+        GxyLogger.i(TAG, "Cancelling log sending");
+        job.abort("cancelled", "SEND_LOGS_CANCELLED", "Sending logs was cancelled");
+        promise.resolve(true);
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        SendLogsJob job;
+        synchronized (this) {
+            job = currentJob;
+        }
+        if (job != null) {
+            job.abort("cancelled", "SEND_LOGS_CANCELLED", "Module was invalidated");
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * One sendLogs call. Settles its promise exactly once: on completion,
+     * failure, cancellation or timeout. It stays the current job until its
+     * worker has actually stopped, so a new send never runs next to it.
+     */
+    private final class SendLogsJob implements Runnable {
+        final String email;
+        final Promise promise;
+        final AtomicBoolean settled = new AtomicBoolean(false);
+        volatile Future<?> work;
+        volatile ScheduledFuture<?> timeout;
+        // Guarded by SendLogsModule.this
+        boolean started = false;
+
+        SendLogsJob(String email, Promise promise) {
+            this.email = email;
+            this.promise = promise;
+        }
+
+        @Override
+        public void run() {
+            synchronized (SendLogsModule.this) {
+                if (currentJob != this) {
+                    // Aborted before it started
+                    return;
+                }
+                started = true;
+            }
+            File directory = null;
+            boolean uploadPending = false;
+            try {
+                emitProgress("collecting", 0, 0, 0, 0);
+                directory = prepareBundleDirectory();
+                List<File> logs = collectLogs(directory, (uncompressedBytes, compressedBytes) ->
+                        emitProgress("collecting", uncompressedBytes, compressedBytes, 0, 0));
+                if (logs.isEmpty()) {
+                    GxyLogger.w(TAG, "No logs collected");
+                    resolve("No logs available.");
+                    return;
+                }
+
+                long totalBytes = 0;
+                for (File part : logs) {
+                    totalBytes += part.length();
+                }
+                emitProgress("uploading", 0, totalBytes, 0, totalBytes);
+
+                // Send logs to Sentry with attachment. Until the transport
+                // confirms it, Sentry may still read the files.
+                uploadPending = true;
+                if (!sendLogsToSentry(email, logs)) {
+                    // Still queued; Sentry keeps the envelope and retries
+                    emitProgress("pending", 0, totalBytes, 0, totalBytes);
+                    resolve("Logs queued, upload still pending");
+                    return;
+                }
+                uploadPending = false;
+                emitProgress("done", 0, totalBytes, totalBytes, totalBytes);
+                resolve("Logs sent successfully");
+            } catch (InterruptedException | InterruptedIOException | CancellationException e) {
+                // Cancelled or timed out; the promise was already settled
+                GxyLogger.d(TAG, "Log sending interrupted");
+            } catch (Exception e) {
+                GxyLogger.e(TAG, "Error collecting logs: " + e.getMessage(), e);
+                reject("failed", "LOG_COLLECTION_ERROR", "Failed to collect logs: " + e.getMessage(), e);
+            } finally {
+                if (directory != null && !uploadPending) {
+                    deleteRecursively(directory);
+                }
+                clear();
+            }
+        }
 
+        void timeOut() {
+            GxyLogger.w(TAG, "Sending logs timed out after {} s", SEND_TIMEOUT_SECONDS);
+            abort("timeout", "SEND_LOGS_TIMEOUT", "Sending logs timed out");
+        }
+
+        void resolve(String message) {
+            if (settled.compareAndSet(false, true)) {
+                cancelTimeout();
+                promise.resolve(message);
+            }
+        }
+
+        boolean reject(String stage, String code, String message, Exception e) {
+            if (!settled.compareAndSet(false, true)) {
+                return false;
+            }
+            cancelTimeout();
+            emitProgress(stage, 0, 0, 0, 0);
+            promise.reject(code, message, e);
+            return true;
+        }
+
+        /**
+         * Rejects the promise and interrupts the work if it is still running.
+         * A running worker clears the current job itself once it has stopped.
+         */
+        void abort(String stage, String code, String message) {
+            if (!reject(stage, code, message, null)) {
+                return;
+            }
+            Future<?> running = work;
+            if (running != null) {
+                running.cancel(true);
+            }
+            synchronized (SendLogsModule.this) {
+                if (!started) {
+                    clear();
+                }
+            }
+        }
+
+        private void cancelTimeout() {
+            ScheduledFuture<?> pending = timeout;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+        }
+
+        private void clear() {
+            synchronized (SendLogsModule.this) {
+                if (currentJob == this) {
+                    currentJob = null;
+                }
+            }
+        }
+    }
+
+    private void emitProgress(String stage, long bytesCollected, long bytesCompressed, long bytesUploaded,
+            long totalBytes) {
+        WritableMap params = Arguments.createMap();
+        params.putString("stage", stage);
+        params.putDouble("bytesCollected", bytesCollected);
+        params.putDouble("bytesCompressed", bytesCompressed);
+        params.putDouble("bytesUploaded", bytesUploaded);
+        params.putDouble("totalBytes", totalBytes);
+        // Byte counts while collecting are superseded by the next update;
+        // stage changes are not
+        EventPriority priority = "collecting".equals(stage) ? EventPriority.DROPPABLE : EventPriority.NORMAL;
+        SendEventToClient.sendEvent(EVENT_SEND_LOGS_PROGRESS, params, priority);
+    }
+
+    /**
+     * Sets native log levels, persisted across launches
+     *
+     * @param config { global: 'WARN', tags: { AudioDeviceModule: 'DEBUG' } };
+     *               levels are VERBOSE, DEBUG, INFO, WARN, ERROR or OFF
+     */
+    @ReactMethod
+    public void setLogLevels(ReadableMap config, Promise promise) {
+        MetricsRegistry.counter("SendLogsModule.setLogLevels").increment();
         try {
-            List<String> command = new ArrayList<>();
-            command.add("logcat");
-            command.add("-d"); // dump and exit
-            command.add("-v"); // format
-            command.add("time"); // time format
-            command.add("-t"); // tail
-            command.add(String.valueOf(MAX_LINES));
-
-            process = Runtime.getRuntime().exec(command.toArray(new String[0]));
-            reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-            String line;
-            int lineCount = 0;
-            while ((line = reader.readLine()) != null && lineCount < MAX_LINES) {
-                if (line.contains(PACKAGE_NAME) ||
-                        line.contains("ReactNativeJS") ||
-                        line.contains("ReactNative") ||
-                        line.contains("GxyLogger")) {
-                    logs.append(line).append("\n");
-                    lineCount++;
+            int globalLevel = config.hasKey("global") && !config.isNull("global")
+                    ? LogLevelRegistry.parseLevel(config.getString("global"))
+                    : LogLevelRegistry.getGlobalLevel();
+
+            Map<String, Integer> tagLevels = new HashMap<>();
+            if (config.hasKey("tags") && !config.isNull("tags")) {
+                ReadableMap tags = config.getMap("tags");
+                ReadableMapKeySetIterator iterator = tags.keySetIterator();
+                while (iterator.hasNextKey()) {
+                    String tag = iterator.nextKey();
+                    tagLevels.put(tag, LogLevelRegistry.parseLevel(tags.getString(tag)));
                 }
             }
 
-            String logsContent = logs.toString();
-            GxyLogger.d(TAG, "Logs collected: " + logsContent);
-            // Add header with device info
-            String header = buildLogHeader();
-            GxyLogger.d(TAG, "Header: " + header);
-            return header + logsContent;
-
-        } catch (SecurityException e) {
-            GxyLogger.w(TAG, "Security exception - logcat access denied: " + e.getMessage());
-            // Re-throw SecurityException to be handled in getApplicationLogs with special
-            // error code
-            throw e;
+            LogLevelRegistry.setLevels(globalLevel, tagLevels);
+            GxyLogger.i(TAG, "Log levels set: global={} tags={}", LogLevelRegistry.levelName(globalLevel), tagLevels);
+            promise.resolve(buildLogLevels());
+        } catch (IllegalArgumentException e) {
+            promise.reject("INVALID_LOG_LEVEL", e.getMessage(), e);
         } catch (Exception e) {
-            GxyLogger.e(TAG, "Error reading logcat: " + e.getMessage(), e);
-            return "Error collecting logs: " + e.getMessage();
-        } finally {
+            GxyLogger.e(TAG, "Error setting log levels", e);
+            promise.reject("LOG_LEVEL_ERROR", "Failed to set log levels: " + e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void getLogLevels(Promise promise) {
+        MetricsRegistry.counter("SendLogsModule.getLogLevels").increment();
+        promise.resolve(buildLogLevels());
+    }
+
+    /**
+     * Drops levels set from JS and goes back to the build default
+     */
+    @ReactMethod
+    public void resetLogLevels(Promise promise) {
+        MetricsRegistry.counter("SendLogsModule.resetLogLevels").increment();
+        LogLevelRegistry.reset();
+        promise.resolve(buildLogLevels());
+    }
+
+    private WritableMap buildLogLevels() {
+        WritableMap result = Arguments.createMap();
+        result.putString("global", LogLevelRegistry.levelName(LogLevelRegistry.getGlobalLevel()));
+        WritableMap tags = Arguments.createMap();
+        for (Map.Entry<String, Integer> entry : LogLevelRegistry.getTagLevels().entrySet()) {
+            tags.putString(entry.getKey(), LogLevelRegistry.levelName(entry.getValue()));
+        }
+        result.putMap("tags", tags);
+        return result;
+    }
+
+    /**
+     * Streams the header, the on-device log journal written by GxyLogger,
+     * this process's recent logcat lines and the process CPU/memory samples
+     * into a gzip bundle in the cache dir. A native trace recorded with
+     * GxyTrace is added as a separate part, {@link #TRACE_FILE_NAME}
+     *
+     * @return bundle parts, empty if there was nothing to collect
+     */
+    private List<File> collectLogs(File directory, LogBundleWriter.ProgressListener progressListener)
+            throws IOException {
+        LogBundleWriter writer = new LogBundleWriter(directory, BUNDLE_NAME, MAX_PART_BYTES, MAX_BUNDLE_BYTES);
+        writer.setProgressListener(progressListener);
+        List<File> parts;
+        long journalBytes = 0;
+        int logcatLines = 0;
+        try {
+            // Add header with device info
+            writer.writeText(buildLogHeader());
+
+            LogJournal journal = LogJournal.getInstance();
+            if (journal != null) {
+                journalBytes = journal.copyTo(writer.stream());
+            } else {
+                GxyLogger.w(TAG, "Log journal is not available");
+            }
+
+            // Supplementary: lines of this process not written through GxyLogger
+            // (ReactNativeJS, WebRTC, crashes)
+            writer.writeText("\n===== logcat: this process, last " + TimeUnit.MILLISECONDS.toMinutes(LOGCAT_WINDOW_MS)
+                    + " minutes =====\n");
             try {
-                if (reader != null) {
-                    reader.close();
-                }
-                if (process != null) {
-                    process.destroy();
+                logcatLines = new LogcatCapture(LOGCAT_WINDOW_MS)
+                        .addFilterSpec(LOGCAT_FILTER_SPEC)
+                        .captureTo(writer);
+            } catch (InterruptedIOException e) {
+                throw e;
+            } catch (IOException | SecurityException e) {
+                // Logcat access may be restricted; the journal is still useful
+                GxyLogger.w(TAG, "Could not capture logcat: " + e.getMessage());
+                writer.writeLine("logcat not available: " + e.getMessage());
+            }
+
+            writer.writeText("\n===== process samples: CPU % (100 = one core), memory, busiest threads =====\n");
+            ProcessSampler.writeTo(writer);
+        } finally {
+            parts = writer.finish();
+        }
+
+        if (journalBytes == 0 && logcatLines == 0) {
+            return Collections.emptyList();
+        }
+        GxyLogger.d(TAG, "Logs collected: {} bytes, {} compressed in {} part(s)",
+                writer.getUncompressedBytes(), writer.getCompressedBytes(), parts.size());
+
+        File trace = writeTrace(directory);
+        if (trace != null) {
+            parts.add(trace);
+        }
+        return parts;
+    }
+
+    /**
+     * Chrome trace JSON of the recorded GxyTrace sections, opens in
+     * ui.perfetto.dev
+     *
+     * @return the trace file, or null if nothing was recorded
+     */
+    private File writeTrace(File directory) {
+        // Recording may have been stopped since; events are kept until re-enabled
+        if (!GxyTrace.wasRecordingEnabled() || GxyTrace.getRecordedCount() == 0) {
+            return null;
+        }
+        File file = new File(directory, TRACE_FILE_NAME);
+        try (OutputStream output = new GZIPOutputStream(new FileOutputStream(file))) {
+            int events = GxyTrace.writeChromeTrace(output);
+            GxyLogger.d(TAG, "Trace collected: {} events", events);
+            return file;
+        } catch (IOException e) {
+            GxyLogger.w(TAG, "Could not write trace: " + e.getMessage());
+            if (file.exists() && !file.delete()) {
+                GxyLogger.w(TAG, "Could not delete partial trace");
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Creates a directory of its own for this send. Sentry reads attachment
+     * files lazily when the envelope is serialized, so bundles of uploads that
+     * were still pending are only deleted after {@link #PENDING_BUNDLE_TTL_MS};
+     * the job deletes its bundle itself otherwise.
+     */
+    private File prepareBundleDirectory() throws IOException {
+        File root = new File(reactContext.getCacheDir(), BUNDLE_DIRECTORY);
+        long now = System.currentTimeMillis();
+        File[] oldBundles = root.listFiles();
+        if (oldBundles != null) {
+            for (File oldBundle : oldBundles) {
+                // Plain files are bundles of older app versions
+                if (!oldBundle.isDirectory() || now - oldBundle.lastModified() > PENDING_BUNDLE_TTL_MS) {
+                    deleteRecursively(oldBundle);
                 }
-            } catch (Exception e) {
-                GxyLogger.e(TAG, "Error closing logcat stream: " + e.getMessage());
             }
         }
+        File directory = new File(root, Long.toString(now));
+        for (int i = 1; directory.exists(); i++) {
+            directory = new File(root, now + "-" + i);
+        }
+        if (!directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        return directory;
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        if (!file.delete() && file.exists()) {
+            GxyLogger.w(TAG, "Could not delete old log bundle {}", file.getName());
+        }
     }
 
-    private void sendLogsToSentry(String email, String logs) {
+    /**
+     * @return false if the upload did not finish within
+     *         {@link #UPLOAD_FLUSH_TIMEOUT_MS}
+     */
+    private boolean sendLogsToSentry(String email, List<File> logs) throws Exception {
         GxyLogger.d(TAG, "Sending logs to Sentry, email: " + email);
-        SentryUtils.sendLogFile(email, logs);
+        // Runs on the Sentry dispatch thread; wait so the promise reflects the
+        // outcome. The job's own timeout bounds the wait.
+        SentryUtils.sendLogFile(email, logs).get();
+        // Capture only queues the envelope; wait for the transport to send it
+        boolean flushed = SentryDispatcher.flush(UPLOAD_FLUSH_TIMEOUT_MS);
+        if (!flushed) {
+            GxyLogger.w(TAG, "Log upload not finished after {} ms", UPLOAD_FLUSH_TIMEOUT_MS);
+        }
+        return flushed;
     }
 
     /**
@@ -14,6 +14,8 @@ import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.GxyTrace;
+import com.galaxy_mobile.logger.LogSampler;
 import com.facebook.react.bridge.ReactApplicationContext;
 import android.bluetooth.BluetoothProfile;
 
@@ -27,6 +29,12 @@ public class AudioDeviceManager {
 
     private static final int NOTIFICATION_DEBOUNCE_MS = 1500;
 
+    // Bluetooth reconnects report the same devices many times in a burst
+    private static final LogSampler DEVICE_ADDED_LOG = LogSampler.perSecond(4);
+    private static final LogSampler DEVICE_REMOVED_LOG = LogSampler.perSecond(4);
+
+    private static final String SCO_CONNECT_TRACE = "audio.sco_connect";
+
     private BroadcastReceiver receiver;
     private final ReactApplicationContext reactContext;
     private final UpdateAudioDeviceCallback callback;
@@ -34,6 +42,8 @@ public class AudioDeviceManager {
     private AudioManager audioManager;
     private final Handler handler;
     private final Runnable notificationRunnable;
+    // GxyTrace cookie of the pending SCO connect, 0 if none
+    private int scoTraceCookie;
 
     public AudioDeviceManager(ReactApplicationContext context, UpdateAudioDeviceCallback callback) {
         this.reactContext = context;
@@ -88,44 +98,56 @@ public class AudioDeviceManager {
         return new AudioDeviceCallback() {
             @Override
             public void onAudioDevicesAdded(AudioDeviceInfo[] addedDevices) {
-                boolean changed = false;
-                for (AudioDeviceInfo device : addedDevices) {
-                    try {
-                        GxyLogger.d(TAG, "onAudioDevicesAdded() device: " + device.getType());
-                        AudioDeviceGroup group = AudioHelper.getGroupByDeviceType(device.getType());
-                        GxyLogger.d(TAG, "onAudioDevicesAdded() group: " + group.getType());
-                        if (AudioHelper.HEADPHONES_GROUP.containsType(device.getType())
-                                || AudioHelper.BLUETOOTH_GROUP.containsType(device.getType())) {
-                            changed = true;
+                GxyTrace.begin("AudioDeviceManager.onAudioDevicesAdded");
+                try {
+                    boolean changed = false;
+                    for (AudioDeviceInfo device : addedDevices) {
+                        try {
+                            if (DEVICE_ADDED_LOG.sample()) {
+                                GxyLogger.d(TAG, "onAudioDevicesAdded() device: {} group: {}", device.getType(),
+                                        AudioHelper.getGroupByDeviceType(device.getType()).getType());
+                            }
+                            if (AudioHelper.HEADPHONES_GROUP.containsType(device.getType())
+                                    || AudioHelper.BLUETOOTH_GROUP.containsType(device.getType())) {
+                                changed = true;
+                            }
+                        } catch (Exception e) {
+                            GxyLogger.e(TAG, "onAudioDevicesAdded() error", e);
                         }
-                    } catch (Exception e) {
-                        GxyLogger.e(TAG, "onAudioDevicesAdded() error", e);
                     }
-                }
-                if (changed) {
-                    notifyDeviceStateChanged();
+                    if (changed) {
+                        notifyDeviceStateChanged();
+                    }
+                } finally {
+                    GxyTrace.end();
                 }
             }
 
             @Override
             public void onAudioDevicesRemoved(AudioDeviceInfo[] removedDevices) {
-                boolean changed = false;
-                for (AudioDeviceInfo device : removedDevices) {
-                    try {
-                        GxyLogger.d(TAG, "onAudioDevicesRemoved() device: " + device.getType());
-                        AudioDeviceGroup group = AudioHelper.getGroupByDeviceType(device.getType());
-                        GxyLogger.d(TAG, "onAudioDevicesRemoved() group: " + group.getType());
-                        if (AudioHelper.HEADPHONES_GROUP.containsType(device.getType())
-                                || AudioHelper.BLUETOOTH_GROUP.containsType(device.getType())) {
-                            changed = true;
+                GxyTrace.begin("AudioDeviceManager.onAudioDevicesRemoved");
+                try {
+                    boolean changed = false;
+                    for (AudioDeviceInfo device : removedDevices) {
+                        try {
+                            if (DEVICE_REMOVED_LOG.sample()) {
+                                GxyLogger.d(TAG, "onAudioDevicesRemoved() device: {} group: {}", device.getType(),
+                                        AudioHelper.getGroupByDeviceType(device.getType()).getType());
+                            }
+                            if (AudioHelper.HEADPHONES_GROUP.containsType(device.getType())
+                                    || AudioHelper.BLUETOOTH_GROUP.containsType(device.getType())) {
+                                changed = true;
+                            }
+                        } catch (Exception e) {
+                            GxyLogger.e(TAG, "onAudioDevicesRemoved() error", e);
                         }
-                    } catch (Exception e) {
-                        GxyLogger.e(TAG, "onAudioDevicesRemoved() error", e);
-                    }
 
-                }
-                if (changed) {
-                    notifyDeviceStateChanged();
+                    }
+                    if (changed) {
+                        notifyDeviceStateChanged();
+                    }
+                } finally {
+                    GxyTrace.end();
                 }
             }
         };
@@ -150,9 +172,10 @@ public class AudioDeviceManager {
         return new BroadcastReceiver() {
             @Override
             public void onReceive(Context context, Intent intent) {
+                GxyTrace.begin("AudioDeviceManager.onReceive");
                 try {
                     String action = intent.getAction();
-                    GxyLogger.d(TAG, "onReceive() action: " + action);
+                    GxyLogger.d(TAG, "onReceive() action: {}", action);
 
                     boolean isBluetoothAction = false;
                     if (BluetoothAdapter.ACTION_STATE_CHANGED.equals(action)) {
@@ -171,6 +194,8 @@ public class AudioDeviceManager {
                     }
                 } catch (Exception e) {
                     GxyLogger.e(TAG, "Exception in onReceive", e);
+                } finally {
+                    GxyTrace.end();
                 }
             }
         };
@@ -200,12 +225,14 @@ public class AudioDeviceManager {
 
         if (state == BluetoothHeadset.STATE_AUDIO_CONNECTED) {
             GxyLogger.d(TAG, "Bluetooth audio SCO connected");
+            endScoTrace();
             if (audioManager != null) {
                 audioManager.setBluetoothScoOn(true);
             }
             notifyDeviceStateChanged();
         } else if (state == BluetoothHeadset.STATE_AUDIO_DISCONNECTED) {
             GxyLogger.d(TAG, "Bluetooth audio SCO disconnected");
+            endScoTrace();
             if (audioManager != null && audioManager.isBluetoothScoOn()) {
                 audioManager.setBluetoothScoOn(false);
             }
@@ -237,11 +264,15 @@ public class AudioDeviceManager {
 
         try {
             if (audioManager != null) {
+                if (scoTraceCookie == 0) {
+                    scoTraceCookie = GxyTrace.beginAsync(SCO_CONNECT_TRACE);
+                }
                 audioManager.startBluetoothSco();
             }
             span.finishOk();
         } catch (Exception e) {
             GxyLogger.e(TAG, "Failed to start Bluetooth SCO", e);
+            endScoTrace();
             span.finishWithError(e);
         }
     }
@@ -251,6 +282,7 @@ public class AudioDeviceManager {
                 .setDescription("Disable Bluetooth SCO");
 
         try {
+            endScoTrace();
             if (audioManager != null) {
                 if (audioManager.isBluetoothScoOn()) {
                     audioManager.stopBluetoothSco();
@@ -263,6 +295,13 @@ public class AudioDeviceManager {
         }
     }
 
+    private void endScoTrace() {
+        if (scoTraceCookie != 0) {
+            GxyTrace.endAsync(SCO_CONNECT_TRACE, scoTraceCookie);
+            scoTraceCookie = 0;
+        }
+    }
+
     private void registerBroadcastReceiver() {
         SentrySpanHelper span = SentrySpanHelper.start("audio.receiver.register")
                 .setDescription("Register broadcast receiver");
@@ -300,6 +339,7 @@ public class AudioDeviceManager {
 
     public void stop() {
         GxyLogger.d(TAG, "Stopping AudioDeviceManager");
+        GxyTrace.begin("AudioDeviceManager.stop");
         try {
             // First disable Bluetooth SCO to prevent audio routing issues
             disableBluetoothSco();
@@ -322,6 +362,8 @@ public class AudioDeviceManager {
             GxyLogger.d(TAG, "AudioDeviceManager stopped successfully");
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error during AudioDeviceManager stop", e);
+        } finally {
+            GxyTrace.end();
         }
     }
 
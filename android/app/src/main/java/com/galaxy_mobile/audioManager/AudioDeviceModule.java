@@ -6,6 +6,10 @@ import android.media.AudioManager;
 import android.os.Build;
 import android.util.Log;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.GxyTrace;
+import com.galaxy_mobile.perf.MetricsRegistry;
+import com.galaxy_mobile.perf.TraceRegistry;
+import com.galaxy_mobile.logger.LogSampler;
 import androidx.annotation.NonNull;
 import androidx.annotation.RequiresApi;
 
@@ -18,6 +22,7 @@ import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.module.annotations.ReactModule;
+import com.galaxy_mobile.EventPriority;
 import com.galaxy_mobile.SendEventToClient;
 
 import java.util.Arrays;
@@ -40,6 +45,8 @@ public class AudioDeviceModule extends ReactContextBaseJavaModule implements Lif
     private static final String TAG = REACT_NATIVE_MODULE_NAME;
     private static final String EVENT_UPDATE_AUDIO_DEVICE = "updateAudioDevice";
     private static final float DEFAULT_VOLUME_LEVEL = 0.8f;
+    // Per-device lines, repeated on every device change
+    private static final LogSampler DEVICE_LIST_LOG = LogSampler.perSecond(8);
 
     private final ReactApplicationContext context;
     private AudioDeviceManager audioDeviceManager = null;
@@ -133,7 +140,7 @@ public class AudioDeviceModule extends ReactContextBaseJavaModule implements Lif
             // First abandon audio focus
             if (audioFocusManager != null) {
                 boolean focusAbandoned = audioFocusManager.abandonAudioFocus();
-                GxyLogger.d(TAG, "Audio focus abandoned: " + focusAbandoned);
+                GxyLogger.d(TAG, "Audio focus abandoned: {}", focusAbandoned);
             }
 
             // Then stop the device manager on UI thread
@@ -158,44 +165,70 @@ public class AudioDeviceModule extends ReactContextBaseJavaModule implements Lif
 
     @ReactMethod
     public void requestAudioFocus() {
+        MetricsRegistry.counter("AudioDeviceModule.requestAudioFocus").increment();
         GxyLogger.d(TAG, "requestAudioFocus()");
+        long start = System.nanoTime();
+        GxyTrace.begin("AudioDeviceModule.requestAudioFocus");
         try {
             if (audioFocusManager != null) {
                 audioFocusManager.requestAudioFocus();
             }
+            TraceRegistry.step("audio.request_focus", start);
             processAudioDevices(null, false);
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error requesting audio focus: " + e.getMessage(), e);
+        } finally {
+            GxyTrace.end();
         }
     }
 
     @ReactMethod
     public void abandonAudioFocus() {
+        MetricsRegistry.counter("AudioDeviceModule.abandonAudioFocus").increment();
         GxyLogger.d(TAG, "abandonAudioFocus()");
+        GxyTrace.begin("AudioDeviceModule.abandonAudioFocus");
         try {
             if (audioFocusManager != null) {
                 audioFocusManager.abandonAudioFocus();
             }
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error abandoning audio focus: " + e.getMessage(), e);
+        } finally {
+            GxyTrace.end();
         }
     }
 
     @ReactMethod
     public void initAudioDevices() {
-        GxyLogger.d(TAG, "initAudioDevices() on thread: " + Thread.currentThread().getName());
-        processAudioDevices(null, true);
+        GxyTrace.begin("AudioDeviceModule.initAudioDevices");
+        try {
+            MetricsRegistry.counter("AudioDeviceModule.initAudioDevices").increment();
+            GxyLogger.d(TAG, "initAudioDevices() on thread: {}", Thread.currentThread().getName());
+            long start = System.nanoTime();
+            processAudioDevices(null, true);
+            TraceRegistry.step("audio.init_devices", start);
+        } finally {
+            GxyTrace.end();
+        }
     }
 
     @ReactMethod
     public void handleDevicesChange(Integer deviceId) {
-        GxyLogger.d(TAG,
-                "handleDevicesChange() deviceId: " + deviceId + " on thread: " + Thread.currentThread().getName());
-        processAudioDevices(deviceId, false);
+        GxyTrace.begin("AudioDeviceModule.handleDevicesChange");
+        try {
+            MetricsRegistry.counter("AudioDeviceModule.handleDevicesChange").increment();
+            GxyLogger.d(TAG, "handleDevicesChange() deviceId: {} on thread: {}", deviceId,
+                    Thread.currentThread().getName());
+            processAudioDevices(deviceId, false);
+        } finally {
+            GxyTrace.end();
+        }
     }
 
     private void processAudioDevices(Integer deviceId, boolean isInitialize) {
-        GxyLogger.d(TAG, "processAudioDevices() deviceId: " + deviceId);
+        GxyLogger.d(TAG, "processAudioDevices() deviceId: {}", deviceId);
+        long start = System.nanoTime();
+        GxyTrace.begin("AudioDeviceModule.processAudioDevices");
         try {
             AudioManager audioManager = getAudioManager();
             if (audioManager == null)
@@ -227,13 +260,13 @@ public class AudioDeviceModule extends ReactContextBaseJavaModule implements Lif
                     // select the speaker
                     selectedGroup = BUILTIN_SPEAKER_GROUP;
                 }
-                GxyLogger.d(TAG, "Selected default group: " + selectedGroup.getType());
+                GxyLogger.d(TAG, "Selected default group: {}", selectedGroup.getType());
 
                 selectedDevice = AudioHelper.getDeviceByGroup(devices, selectedGroup);
 
-                GxyLogger.d(TAG, "Selected default device: " + selectedDevice);
+                GxyLogger.d(TAG, "Selected default device: {}", selectedDevice);
             } else {
-                GxyLogger.d(TAG, "Selected device by id: " + selectedDevice);
+                GxyLogger.d(TAG, "Selected device by id: {}", selectedDevice);
                 selectedGroup = AudioHelper.getGroupByDeviceType(selectedDevice.getType());
             }
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
@@ -254,20 +287,26 @@ public class AudioDeviceModule extends ReactContextBaseJavaModule implements Lif
                 deviceMap.putInt("id", device.getId());
                 deviceMap.putBoolean("active", device.getId() == selectedDevice.getId());
                 data.putMap(group.getType(), deviceMap);
-                GxyLogger.d(TAG, "Device type: " + device.getType());
+                if (DEVICE_LIST_LOG.sample()) {
+                    GxyLogger.d(TAG, "Device type: {}", device.getType());
+                }
             }
 
-            GxyLogger.d(TAG, "sendDeviceUpdateToClient() result: " + data);
+            GxyLogger.d(TAG, "sendDeviceUpdateToClient() result: {}", data);
             prevGroupType = selectedGroup.getType();
-            GxyLogger.d(TAG, "prevGroupType updated: " + prevGroupType);
+            GxyLogger.d(TAG, "prevGroupType updated: {}", prevGroupType);
 
             try {
-                SendEventToClient.sendEvent(EVENT_UPDATE_AUDIO_DEVICE, data);
+                SendEventToClient.sendEvent(EVENT_UPDATE_AUDIO_DEVICE, data, EventPriority.CRITICAL);
             } catch (Exception e) {
                 GxyLogger.e(TAG, "Error sending event to client: " + e.getMessage(), e);
             }
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error processing audio devices: " + e.getMessage(), e);
+        } finally {
+            GxyTrace.end();
+            MetricsRegistry.histogram("audio.process_devices").recordSince(start);
+            TraceRegistry.step("audio.process_devices", start);
         }
     }
 
@@ -335,8 +374,9 @@ public class AudioDeviceModule extends ReactContextBaseJavaModule implements Lif
     }
 
     private void setAudioDevice(AudioDeviceInfo device) {
+        GxyTrace.begin("AudioDeviceModule.setAudioDevice");
         try {
-            GxyLogger.d(TAG, "setAudioDevice() device: " + device);
+            GxyLogger.d(TAG, "setAudioDevice() device: {}", device);
             if (device == null) {
                 GxyLogger.e(TAG, "Cannot set null audio device");
                 return;
@@ -348,21 +388,26 @@ public class AudioDeviceModule extends ReactContextBaseJavaModule implements Lif
 
             audioManager.setMode(AudioManager.MODE_IN_COMMUNICATION);
 
+            long start = System.nanoTime();
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
                 audioManager.setCommunicationDevice(device);
             } else {
                 setAudioDeviceOld(audioManager, device);
             }
+            MetricsRegistry.histogram("audio.set_communication_device").recordSince(start);
+            TraceRegistry.step("audio.set_communication_device", start);
             GxyLogger.d(TAG, "setAudioDevice() after setCommunicationDevice()");
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error setting audio device: " + e.getMessage(), e);
+        } finally {
+            GxyTrace.end();
         }
     }
 
     private void setAudioDeviceOld(AudioManager audioManager, AudioDeviceInfo device) {
         try {
             AudioDeviceGroup group = AudioHelper.getGroupByDeviceType(device.getType());
-            GxyLogger.d(TAG, "setAudioDeviceOld() device group: " + group.getType());
+            GxyLogger.d(TAG, "setAudioDeviceOld() device group: {}", group.getType());
 
             if (group.getType().equals(BLUETOOTH_GROUP.getType())) {
                 GxyLogger.d(TAG, "Setting audio to Bluetooth");
@@ -3,12 +3,14 @@ package com.galaxy_mobile.callManager;
 import android.app.Activity;
 import android.content.Intent;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.logger.SentryUtils;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.WritableMap;
+import com.galaxy_mobile.EventPriority;
 import com.galaxy_mobile.SendEventToClient;
+import com.galaxy_mobile.state.NativeStateBus;
 
-import io.sentry.Sentry;
 
 /**
  * Manages and dispatches call events to JavaScript layer.
@@ -23,16 +25,18 @@ public class CallEventManager {
      * @param state The call state to dispatch
      */
     public static void dispatchCallStateEvent(CallStateType state) {
-        GxyLogger.d(TAG, "dispatchCallStateEvent() called with state: " + state.name());
+        GxyLogger.d(TAG, "dispatchCallStateEvent() called with state: {}", state);
+        NativeStateBus.CALL_STATE.publish(state, NativeStateBus.SOURCE_SYSTEM);
         try {
             WritableMap data = Arguments.createMap();
             data.putString("state", state.name());
-            GxyLogger.d(TAG, "Calling SendEventToClient.sendEvent() with data: " + data.toString());
-            SendEventToClient.sendEvent("onCallStateChanged", data);
-            GxyLogger.d(TAG, "SendEventToClient.sendEvent() completed for state: " + state.name());
+            GxyLogger.d(TAG, "Calling SendEventToClient.sendEvent() with data: {}", data);
+            // Critical: on RINGING, JS mutes the mic
+            SendEventToClient.sendEvent("onCallStateChanged", data, EventPriority.CRITICAL);
+            GxyLogger.d(TAG, "SendEventToClient.sendEvent() completed for state: {}", state);
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error in dispatchCallStateEvent for state " + state.name() + ": " + e.getMessage(), e);
-            Sentry.captureException(e);
+            SentryUtils.captureException(e);
         }
     }
 
@@ -55,7 +59,7 @@ public class CallEventManager {
             }
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error bringing app to foreground: " + e.getMessage(), e);
-            Sentry.captureException(e);
+            SentryUtils.captureException(e);
         }
     }
 }
\ No newline at end of file
@@ -3,16 +3,17 @@ package com.galaxy_mobile.callManager;
 import android.os.Build;
 import android.util.Log;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.GxyTrace;
+import com.galaxy_mobile.perf.MetricsRegistry;
+import com.galaxy_mobile.logger.SentryUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.RequiresApi;
 
 import com.facebook.react.bridge.LifecycleEventListener;
-import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.module.annotations.ReactModule;
-import io.sentry.Sentry;
 import com.facebook.react.bridge.ReactMethod;
 
 /**
@@ -28,7 +29,7 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
 
     private final ReactApplicationContext context;
     private ICallListener callListener;
-    private boolean isInitialized = false;
+    private volatile boolean isInitialized = false;
     private boolean autoInitializeDisabled = true; // Disable auto-initialization
 
     /**
@@ -39,13 +40,13 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
     public CallListenerModule(ReactApplicationContext reactContext) {
         super(reactContext);
         context = reactContext;
-        GxyLogger.d(TAG, "CallListenerModule constructor called - context: " + context);
+        GxyLogger.d(TAG, "CallListenerModule constructor called - context: {}", context);
         try {
             reactContext.addLifecycleEventListener(this);
             GxyLogger.d(TAG, "CallListenerModule constructor completed safely - auto-initialization disabled");
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error in constructor: " + e.getMessage());
-            Sentry.captureException(e);
+            SentryUtils.captureException(e);
         }
     }
 
@@ -55,7 +56,7 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
     @NonNull
     @Override
     public String getName() {
-        GxyLogger.d(TAG, "getName() called - returning: " + NAME);
+        GxyLogger.d(TAG, "getName() called - returning: {}", NAME);
         return NAME;
     }
 
@@ -74,9 +75,8 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
      * Initialize the call listener - called after permissions are granted
      */
     private void initializeCallListener() {
-        GxyLogger.d(TAG,
-                "initializeCallListener() called - isInitialized: " + isInitialized + ", autoInitializeDisabled: "
-                        + autoInitializeDisabled);
+        GxyLogger.d(TAG, "initializeCallListener() called - isInitialized: {}, autoInitializeDisabled: {}",
+                isInitialized, autoInitializeDisabled);
         try {
             // If we're already initialized, don't do it again
             if (isInitialized) {
@@ -84,10 +84,10 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
                 return;
             }
 
-            GxyLogger.d(TAG, "Starting CallListenerModule initialization for context: " + context);
+            GxyLogger.d(TAG, "Starting CallListenerModule initialization for context: {}", context);
 
             try {
-                GxyLogger.d(TAG, "Checking callListener instance - callListener null: " + (callListener == null));
+                GxyLogger.d(TAG, "Checking callListener instance - callListener null: {}", callListener == null);
                 if (callListener == null) {
                     callListener = PhoneCallListener.getInstance();
                     GxyLogger.d(TAG, "PhoneCallListener instance created successfully");
@@ -96,17 +96,17 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
                 }
 
                 if (callListener != null) {
-                    GxyLogger.d(TAG, "CallListener is available, checking initialization status: "
-                            + callListener.isInitialized());
+                    GxyLogger.d(TAG, "CallListener is available, checking initialization status: {}",
+                            callListener.isInitialized());
                     if (!callListener.isInitialized()) {
-                        GxyLogger.d(TAG, "Calling PhoneCallListener.initialize() with context" + context);
+                        GxyLogger.d(TAG, "Calling PhoneCallListener.initialize() with context {}", context);
                         boolean success = callListener.initialize(context);
-                        GxyLogger.d(TAG, "PhoneCallListener.initialize() returned: " + success);
+                        GxyLogger.d(TAG, "PhoneCallListener.initialize() returned: {}", success);
                         if (success) {
                             isInitialized = true;
                             autoInitializeDisabled = false; // Enable for future lifecycle events
-                            GxyLogger.d(TAG,
-                                    "CallListenerModule initialized successfully - isInitialized: " + isInitialized);
+                            GxyLogger.d(TAG, "CallListenerModule initialized successfully - isInitialized: {}",
+                                    isInitialized);
                         } else {
                             GxyLogger.e(TAG,
                                     "Failed to initialize CallListenerModule - PhoneCallListener.initialize() returned false");
@@ -121,21 +121,23 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
                 }
             } catch (Exception e) {
                 GxyLogger.e(TAG, "Error initializing: " + e.getMessage(), e);
-                Sentry.captureException(e);
+                SentryUtils.captureException(e);
             }
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error in initializeCallListener(): " + e.getMessage(), e);
-            Sentry.captureException(e);
+            SentryUtils.captureException(e);
         }
     }
 
     /**
-     * React Native method to check if the module is initialized
+     * React Native method to check if the module is initialized; synchronous,
+     * it only reads a field
      */
-    @ReactMethod
-    public void isInitialized(Promise promise) {
-        GxyLogger.d(TAG, "isInitialized() called from JavaScript - returning: " + isInitialized);
-        promise.resolve(isInitialized);
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public boolean isInitialized() {
+        MetricsRegistry.counter("CallListenerModule.isInitialized").increment();
+        GxyLogger.d(TAG, "isInitialized() called from JavaScript - returning: {}", isInitialized);
+        return isInitialized;
     }
 
     /**
@@ -143,9 +145,14 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
      * This is called from the PermissionHelper
      */
     public void initializeAfterPermissions() {
-        autoInitializeDisabled = false;
-        initializeCallListener();
-        GxyLogger.d(TAG, "initializeAfterPermissions() completed");
+        GxyTrace.begin("CallListenerModule.initializeAfterPermissions");
+        try {
+            autoInitializeDisabled = false;
+            initializeCallListener();
+            GxyLogger.d(TAG, "initializeAfterPermissions() completed");
+        } finally {
+            GxyTrace.end();
+        }
     }
 
     /**
@@ -153,8 +160,8 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
      */
     @Override
     public void onHostResume() {
-        GxyLogger.d(TAG, "onHostResume() - current state: isInitialized=" + isInitialized + ", autoInitializeDisabled="
-                + autoInitializeDisabled);
+        GxyLogger.d(TAG, "onHostResume() - current state: isInitialized={}, autoInitializeDisabled={}",
+                isInitialized, autoInitializeDisabled);
         if (!isInitialized && !autoInitializeDisabled) {
             initializeCallListener();
         }
@@ -165,8 +172,8 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
      */
     @Override
     public void onHostPause() {
-        GxyLogger.d(TAG, "onHostPause() - current state: isInitialized=" + isInitialized + ", autoInitializeDisabled="
-                + autoInitializeDisabled);
+        GxyLogger.d(TAG, "onHostPause() - current state: isInitialized={}, autoInitializeDisabled={}",
+                isInitialized, autoInitializeDisabled);
     }
 
     /**
@@ -175,24 +182,24 @@ public class CallListenerModule extends ReactContextBaseJavaModule implements Li
      */
     @Override
     public void onHostDestroy() {
-        GxyLogger.d(TAG, "onHostDestroy() - current state: isInitialized=" + isInitialized + ", callListener null="
-                + (callListener == null));
+        GxyLogger.d(TAG, "onHostDestroy() - current state: isInitialized={}, callListener null={}",
+                isInitialized, callListener == null);
 
         try {
             if (callListener != null && callListener.isInitialized()) {
                 GxyLogger.d(TAG, "onHostDestroy() - cleaning up callListener");
                 callListener.cleanup();
                 isInitialized = false;
-                GxyLogger.d(TAG, "CallListenerModule cleanup completed - isInitialized set to: " + isInitialized);
+                GxyLogger.d(TAG, "CallListenerModule cleanup completed - isInitialized set to: {}", isInitialized);
             } else {
-                GxyLogger.d(TAG, "onHostDestroy() - no cleanup needed: callListener null=" + (callListener == null)
-                        + ", callListener initialized="
+                GxyLogger.d(TAG, () -> "onHostDestroy() - no cleanup needed: callListener null="
+                        + (callListener == null) + ", callListener initialized="
                         + (callListener != null ? callListener.isInitialized() : "N/A"));
             }
             GxyLogger.d(TAG, "CallListenerModule onHostDestroy() completed successfully");
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error in onHostDestroy(): " + e.getMessage(), e);
-            Sentry.captureException(e);
+            SentryUtils.captureException(e);
         }
     }
 }
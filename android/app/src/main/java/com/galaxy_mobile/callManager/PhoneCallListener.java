@@ -7,9 +7,10 @@ import android.telephony.PhoneStateListener;
 import android.telephony.TelephonyManager;
 import android.util.Log;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.MetricsRegistry;
+import com.galaxy_mobile.logger.SentryUtils;
 import androidx.core.content.ContextCompat;
 import com.facebook.react.bridge.ReactApplicationContext;
-import io.sentry.Sentry;
 
 /**
  * Phone call listener that monitors call state changes and triggers appropriate
@@ -73,7 +74,8 @@ public class PhoneCallListener extends PhoneStateListener implements ICallListen
 
             // Check if READ_PHONE_STATE permission is granted
             int permissionCheck = ContextCompat.checkSelfPermission(context, Manifest.permission.READ_PHONE_STATE);
-            GxyLogger.d(TAG, "READ_PHONE_STATE permission check result: " + permissionCheck + " (GRANTED=" + PackageManager.PERMISSION_GRANTED + ")");
+            GxyLogger.d(TAG, "READ_PHONE_STATE permission check result: {} (GRANTED={})", permissionCheck,
+                    PackageManager.PERMISSION_GRANTED);
             
             if (permissionCheck != PackageManager.PERMISSION_GRANTED) {
                 GxyLogger.e(TAG, "READ_PHONE_STATE permission not granted. Cannot register phone state listener.");
@@ -89,7 +91,7 @@ public class PhoneCallListener extends PhoneStateListener implements ICallListen
             return true;
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error initializing PhoneCallListener: " + e.getMessage(), e);
-            Sentry.captureException(e);
+            SentryUtils.captureException(e);
             return false;
         }
     }
@@ -101,8 +103,9 @@ public class PhoneCallListener extends PhoneStateListener implements ICallListen
             return;
         }
 
+        long start = System.nanoTime();
         try {
-            GxyLogger.d(TAG, "Call state changed to: " + getStateString(state));
+            GxyLogger.d(TAG, () -> "Call state changed to: " + getStateString(state));
 
             switch (state) {
                 case TelephonyManager.CALL_STATE_RINGING:
@@ -128,7 +131,10 @@ public class PhoneCallListener extends PhoneStateListener implements ICallListen
             }
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error in onCallStateChanged: " + e.getMessage(), e);
-            Sentry.captureException(e);
+            SentryUtils.captureException(e);
+        } finally {
+            // Call state change until the JS events are emitted
+            MetricsRegistry.histogram("call.state_to_js").recordSince(start);
         }
     }
 
@@ -171,7 +177,7 @@ public class PhoneCallListener extends PhoneStateListener implements ICallListen
             GxyLogger.d(TAG, "PhoneCallListener cleaned up successfully");
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error while cleaning call listener: " + e.getMessage(), e);
-            Sentry.captureException(e);
+            SentryUtils.captureException(e);
         }
     }
 
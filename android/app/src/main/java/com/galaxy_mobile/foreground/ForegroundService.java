@@ -4,14 +4,22 @@ import android.app.Notification;
 import android.app.Service;
 import android.content.Intent;
 import android.content.pm.ServiceInfo;
+import android.app.NotificationManager;
 import android.os.Build;
+import android.os.Handler;
 import android.os.IBinder;
+import android.os.Looper;
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.galaxy_mobile.MainApplication;
 import com.galaxy_mobile.SendEventToClient;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.GxyTrace;
+import com.galaxy_mobile.logger.SentrySpanHelper;
+import com.galaxy_mobile.perf.TraceRegistry;
+import com.galaxy_mobile.state.NativeStateBus;
+import com.galaxy_mobile.state.StateTopic;
 
 import android.content.BroadcastReceiver;
 import android.content.Context;
@@ -24,6 +32,11 @@ public class ForegroundService extends Service {
 
     public static final String START_SERVICE_ACTION = "START_SERVICE";
     public static final String STOP_SERVICE_ACTION = "STOP_SERVICE";
+    // System.nanoTime() when the start was requested, to time the hop to the main thread
+    public static final String EXTRA_REQUESTED_AT_NANOS = "requested_at_nanos";
+    // GxyTrace async section from the start request until the service is in the foreground
+    public static final String START_TRACE_SECTION = "service.foreground_start";
+    public static final String EXTRA_TRACE_COOKIE = "trace_cookie";
 
     public static final String MIC_STATE_EXTRA = "MIC_STATE";
     public static final String IN_ROOM_EXTRA = "IN_ROOM_EXTRA";
@@ -32,6 +45,11 @@ public class ForegroundService extends Service {
 
     public static String room = "Not in room";
 
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Redraws the notification on state changes from JS or from its own actions
+    private final StateTopic.Listener<Object> stateListener = (value, source) -> scheduleNotificationUpdate();
+    private final Runnable notificationUpdate = this::updateNotification;
+
     private final BroadcastReceiver screenReceiver = new BroadcastReceiver() {
         @Override
         public void onReceive(Context context, Intent intent) {
@@ -51,36 +69,61 @@ public class ForegroundService extends Service {
 
     @Override
     public void onCreate() {
-        super.onCreate();
-        GxyLogger.i(TAG, "onCreate");
-        notificationBuilder = new PlayerNotificationBuilder(getApplicationContext());
-
-        IntentFilter filter = new IntentFilter();
-        filter.addAction(Intent.ACTION_SCREEN_OFF);
-        registerReceiver(screenReceiver, filter);
-        isRunning = true;
-        GxyLogger.i(TAG, "onCreate completed");
+        GxyTrace.begin("ForegroundService.onCreate");
+        try {
+            super.onCreate();
+            GxyLogger.i(TAG, "onCreate");
+            notificationBuilder = new PlayerNotificationBuilder(getApplicationContext());
+
+            IntentFilter filter = new IntentFilter();
+            filter.addAction(Intent.ACTION_SCREEN_OFF);
+            registerReceiver(screenReceiver, filter);
+            subscribeState();
+            isRunning = true;
+            GxyLogger.i(TAG, "onCreate completed");
+        } finally {
+            GxyTrace.end();
+        }
     }
 
     @Override
     public int onStartCommand(Intent intent, int flags, int startId) {
-        String action = intent.getAction();
-        GxyLogger.i(TAG, "onStartCommand: " + action);
+        GxyTrace.begin("ForegroundService.onStartCommand");
+        try {
+            String action = intent.getAction();
+            GxyLogger.i(TAG, "onStartCommand: " + action);
 
-        if (action.equals(STOP_SERVICE_ACTION)) {
-            stop();
+            if (action.equals(STOP_SERVICE_ACTION)) {
+                stop();
+                return START_NOT_STICKY;
+            }
+            if (action.equals(START_SERVICE_ACTION)) {
+                long requestedAt = intent.getLongExtra(EXTRA_REQUESTED_AT_NANOS, 0L);
+                if (requestedAt != 0L) {
+                    TraceRegistry.step("service.dispatch", requestedAt);
+                }
+                try {
+                    start();
+                } finally {
+                    int traceCookie = intent.getIntExtra(EXTRA_TRACE_COOKIE, 0);
+                    if (traceCookie != 0) {
+                        GxyTrace.endAsync(START_TRACE_SECTION, traceCookie);
+                    }
+                }
+                return START_STICKY;
+            }
+            GxyLogger.d(TAG, "Invalid action: " + action);
             return START_NOT_STICKY;
+        } finally {
+            GxyTrace.end();
         }
-        if (action.equals(START_SERVICE_ACTION)) {
-            start();
-            return START_STICKY;
-        }
-        GxyLogger.d(TAG, "Invalid action: " + action);
-        return START_NOT_STICKY;
     }
 
     private void start() {
         GxyLogger.i(TAG, "Starting foreground service");
+        long start = System.nanoTime();
+        SentrySpanHelper span = SentrySpanHelper.start("service.foreground.start")
+                .setDescription("Start foreground service");
 
         Notification notification = notificationBuilder.build();
         try {
@@ -107,15 +150,54 @@ public class ForegroundService extends Service {
             }
 
             GxyLogger.i(TAG, "Foreground service ready");
+            TraceRegistry.step("service.foreground.start", start);
+            span.finishOk();
         } catch (Exception e) {
             GxyLogger.e(TAG, "Error starting foreground", e);
+            span.finishWithError(e);
+        }
+    }
+
+    private void subscribeState() {
+        NativeStateBus.MIC_ON.subscribe(stateListener);
+        NativeStateBus.IN_ROOM.subscribe(stateListener);
+        NativeStateBus.ROOM_NAME.subscribe(stateListener);
+    }
+
+    private void unsubscribeState() {
+        NativeStateBus.MIC_ON.unsubscribe(stateListener);
+        NativeStateBus.IN_ROOM.unsubscribe(stateListener);
+        NativeStateBus.ROOM_NAME.unsubscribe(stateListener);
+    }
+
+    private void scheduleNotificationUpdate() {
+        // One redraw for the changes of one updateUIState call
+        mainHandler.removeCallbacks(notificationUpdate);
+        mainHandler.post(notificationUpdate);
+    }
+
+    private void updateNotification() {
+        if (!isRunning) {
+            return;
+        }
+        try {
+            NotificationManager manager = getSystemService(NotificationManager.class);
+            manager.notify(PlayerNotificationBuilder.NOTIFICATION_ID, notificationBuilder.build());
+            GxyLogger.d(TAG, "Notification updated");
+        } catch (Exception e) {
+            GxyLogger.e(TAG, "Error updating notification", e);
         }
     }
 
     public void stop() {
-        GxyLogger.i(TAG, "Stopping foreground service.");
-        cleanup();
-        stopSelf();
+        GxyTrace.begin("ForegroundService.stop");
+        try {
+            GxyLogger.i(TAG, "Stopping foreground service.");
+            cleanup();
+            stopSelf();
+        } finally {
+            GxyTrace.end();
+        }
     }
 
     @Override
@@ -143,6 +225,8 @@ public class ForegroundService extends Service {
     @Override
     public void onDestroy() {
         GxyLogger.i(TAG, "onDestroy");
+        unsubscribeState();
+        mainHandler.removeCallbacks(notificationUpdate);
         cleanup();
         isRunning = false;
         super.onDestroy();
@@ -16,7 +16,7 @@ import com.galaxy_mobile.logger.GxyLogger;
 import com.galaxy_mobile.uiState.UIApdateReceiver;
 import com.galaxy_mobile.MainActivity;
 import com.galaxy_mobile.R;
-import com.galaxy_mobile.uiState.GxyUIStateModule;
+import com.galaxy_mobile.state.NativeStateBus;
 
 public class PlayerNotificationBuilder {
     public static final String CHANNEL_ID = "PlayerNotificationChannel";
@@ -62,7 +62,7 @@ public class PlayerNotificationBuilder {
 
         NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
                 .setSmallIcon(R.mipmap.arvut)
-                .setContentTitle(GxyUIStateModule.room)
+                .setContentTitle(NativeStateBus.ROOM_NAME.get())
                 .setOngoing(true)
                 .setAutoCancel(false)
                 .setCategory(NotificationCompat.CATEGORY_SERVICE)
@@ -73,11 +73,11 @@ public class PlayerNotificationBuilder {
                 .setVisibility(NotificationCompat.VISIBILITY_PUBLIC);
 
         MediaStyle style = new MediaStyle();
-        if (GxyUIStateModule.isInRoom) {
+        if (NativeStateBus.IN_ROOM.get()) {
             style.setShowActionsInCompactView(0, 1);
             builder.addAction(buildLeaveRoomAction());
             builder.setStyle(style);
-            if (GxyUIStateModule.isMicOn) {
+            if (NativeStateBus.MIC_ON.get()) {
                 builder.addAction(buildMuteAction());
             } else {
                 builder.addAction(buildUnmuteAction());
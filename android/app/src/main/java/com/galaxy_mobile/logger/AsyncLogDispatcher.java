@@ -0,0 +1,223 @@
+package com.galaxy_mobile.logger;
+
+import android.os.Process;
+import android.util.Log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves log formatting and sink I/O off the calling thread.
+ *
+ * Callers only publish a record into a {@link LogRingBuffer}; a single
+ * low-priority consumer thread formats the records and hands them to the
+ * sinks in publication order. Identical consecutive lines (same level, tag
+ * and message) are collapsed into one "repeated N times" line.
+ */
+final class AsyncLogDispatcher {
+    private static final String TAG = "AsyncLogDispatcher";
+    private static final String THREAD_NAME = "GxyLogger";
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // A run of identical lines is summarized at the latest this long after its last repeat
+    private static final long REPEAT_FLUSH_MS = 1000;
+
+    private final LogRingBuffer buffer;
+    private final Thread consumer;
+    private final LogRecord scratch = new LogRecord();
+    private final LogEncoder encoder = new LogEncoder();
+
+    private volatile boolean running = true;
+    private volatile boolean waiting = false;
+
+    // Highest record count a flush() caller waits for, and the record count
+    // fully written to the sinks, pending repeat summary included
+    private final AtomicLong flushTarget = new AtomicLong();
+    private volatile long writtenCount = 0;
+
+    private long reportedDroppedOldest = 0;
+    private long reportedDroppedDebug = 0;
+
+    // Last line written, for collapsing identical consecutive lines
+    private int lastLevel = -1;
+    private String lastTag = null;
+    private String lastMessage = null;
+    private String lastThreadName = null;
+    private int repeatCount = 0;
+    private long lastRepeatMillis = 0;
+
+    AsyncLogDispatcher(int capacity, LogOverflowPolicy policy) {
+        this.buffer = new LogRingBuffer(capacity, policy);
+        this.consumer = new Thread(this::runLoop, THREAD_NAME);
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    void publish(int level, String tag, String message, Throwable throwable, StackTraceElement caller) {
+        Thread current = Thread.currentThread();
+        buffer.offer(level, tag, message, throwable, System.currentTimeMillis(), current.getName(), caller);
+        if (waiting) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Waits until everything published so far has reached the sinks, including
+     * the summary of a pending run of repeated lines
+     *
+     * @return true if the records were written before the timeout
+     */
+    boolean flush(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        long target = buffer.offeredCount();
+        long current;
+        while ((current = flushTarget.get()) < target && !flushTarget.compareAndSet(current, target)) {
+            // Another flush raised the target concurrently, retry
+        }
+        LockSupport.unpark(consumer);
+        while (writtenCount < target) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        return true;
+    }
+
+    void shutdown(long timeoutMs) {
+        flush(timeoutMs);
+        running = false;
+        LockSupport.unpark(consumer);
+    }
+
+    long getDroppedCount() {
+        return buffer.getDroppedOldest() + buffer.getDroppedDebug();
+    }
+
+    long getDroppedOldest() {
+        return buffer.getDroppedOldest();
+    }
+
+    long getDroppedDebug() {
+        return buffer.getDroppedDebug();
+    }
+
+    private void runLoop() {
+        try {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+        } catch (Exception e) {
+            Log.w(TAG, "Could not lower logger thread priority", e);
+        }
+
+        while (running || !buffer.isEmpty()) {
+            if (buffer.poll(scratch)) {
+                dispatch(scratch);
+                scratch.clear();
+                continue;
+            }
+
+            reportDropped();
+
+            long parkNanos = IDLE_PARK_NANOS;
+            if (repeatCount > 0) {
+                long sinceRepeat = System.currentTimeMillis() - lastRepeatMillis;
+                boolean flushWaiting = flushTarget.get() > writtenCount;
+                if (sinceRepeat >= REPEAT_FLUSH_MS || !running || flushWaiting) {
+                    flushRepeats();
+                } else {
+                    parkNanos = TimeUnit.MILLISECONDS.toNanos(REPEAT_FLUSH_MS - sinceRepeat);
+                }
+            }
+            if (repeatCount == 0) {
+                // Nothing left in flight: every record taken so far was
+                // written, or evicted and counted as dropped
+                writtenCount = buffer.takenCount();
+            }
+
+            waiting = true;
+            if (buffer.isEmpty() && running) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+            waiting = false;
+        }
+        flushRepeats();
+        writtenCount = buffer.takenCount();
+    }
+
+    private void dispatch(LogRecord record) {
+        try {
+            if (isRepeat(record)) {
+                repeatCount++;
+                lastRepeatMillis = record.timeMillis;
+                return;
+            }
+            flushRepeats();
+            rememberLast(record);
+
+            LogEncoder encoded = encoder.encode(record.timeMillis, record.threadName, record.caller,
+                    record.message);
+            GxyLogger.writeToSinks(record.level, record.tag, encoded, record.throwable);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to dispatch log record", e);
+        }
+    }
+
+    private boolean isRepeat(LogRecord record) {
+        return record.throwable == null
+                && record.level == lastLevel
+                && record.message != null
+                && record.message.equals(lastMessage)
+                && record.tag != null
+                && record.tag.equals(lastTag);
+    }
+
+    private void rememberLast(LogRecord record) {
+        if (record.throwable != null) {
+            lastLevel = -1;
+            lastTag = null;
+            lastMessage = null;
+            lastThreadName = null;
+            return;
+        }
+        lastLevel = record.level;
+        lastTag = record.tag;
+        lastMessage = record.message;
+        lastThreadName = record.threadName;
+    }
+
+    /**
+     * Writes one "repeated N times" line for the current run of identical lines
+     */
+    private void flushRepeats() {
+        if (repeatCount == 0) {
+            return;
+        }
+        String message = "Previous message repeated " + repeatCount + " more time"
+                + (repeatCount == 1 ? "" : "s");
+        repeatCount = 0;
+        try {
+            GxyLogger.writeToSinks(lastLevel, lastTag,
+                    encoder.encode(lastRepeatMillis, lastThreadName, null, message), null);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to write repeat summary", e);
+        }
+    }
+
+    private void reportDropped() {
+        long droppedOldest = buffer.getDroppedOldest();
+        long droppedDebug = buffer.getDroppedDebug();
+        if (droppedOldest == reportedDroppedOldest && droppedDebug == reportedDroppedDebug) {
+            return;
+        }
+
+        String message = "Log buffer overflow: dropped " + (droppedOldest - reportedDroppedOldest)
+                + " oldest and " + (droppedDebug - reportedDroppedDebug) + " debug records (total "
+                + (droppedOldest + droppedDebug) + ")";
+        reportedDroppedOldest = droppedOldest;
+        reportedDroppedDebug = droppedDebug;
+        flushRepeats();
+        lastMessage = null;
+        GxyLogger.writeToSinks(GxyLogger.WARN, TAG,
+                encoder.encode(System.currentTimeMillis(), THREAD_NAME, null, message), null);
+    }
+}
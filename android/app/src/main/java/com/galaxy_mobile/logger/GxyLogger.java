@@ -1,8 +1,11 @@
 package com.galaxy_mobile.logger;
 
-import android.util.Log;
 import io.sentry.SentryLevel;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
 public class GxyLogger {
 
     // Log levels
@@ -11,21 +14,197 @@ public class GxyLogger {
     public static final int INFO = 2;
     public static final int WARN = 3;
     public static final int ERROR = 4;
+    // Threshold only: disables a tag (or everything) including Sentry reports
+    public static final int OFF = 5;
 
     // Default configuration
     private static final String DEFAULT_TAG = "GalaxyLogger";
 
+    private static final List<SinkEntry> sinks = new CopyOnWriteArrayList<>();
+    // Lowest threshold among sinks that have their own; OFF if none has
+    private static volatile int sinkMinLevel = OFF;
+    private static volatile AsyncLogDispatcher asyncDispatcher = null;
+    private static volatile boolean callerInfoEnabled = false;
+
+    static {
+        addSink(new LogcatSink());
+    }
+
+    private static final class SinkEntry {
+        final LogSink sink;
+        // Own threshold, or -1 to follow the logger levels
+        final int minLevel;
+
+        SinkEntry(LogSink sink, int minLevel) {
+            this.sink = sink;
+            this.minLevel = minLevel;
+        }
+    }
+
+    // ========================================
+    // PIPELINE CONFIGURATION
+    // ========================================
+
+    /**
+     * Switches to asynchronous logging: callers only publish a record into a
+     * bounded ring buffer and a background thread formats and writes it.
+     *
+     * @param capacity buffer size in records (rounded up to a power of two)
+     * @param policy   what to drop when the buffer is full
+     */
+    public static synchronized void startAsync(int capacity, LogOverflowPolicy policy) {
+        if (asyncDispatcher != null) {
+            return;
+        }
+        asyncDispatcher = new AsyncLogDispatcher(capacity, policy);
+    }
+
+    /**
+     * Drains the buffer and goes back to synchronous logging
+     */
+    public static synchronized void stopAsync(long timeoutMs) {
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher == null) {
+            return;
+        }
+        asyncDispatcher = null;
+        dispatcher.shutdown(timeoutMs);
+    }
+
+    /**
+     * Blocks until all records published so far have been written, e.g. before
+     * the process is killed
+     */
+    public static boolean flush(long timeoutMs) {
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        return dispatcher == null || dispatcher.flush(timeoutMs);
+    }
+
+    public static boolean isAsync() {
+        return asyncDispatcher != null;
+    }
+
+    /**
+     * @return number of records dropped by the async buffer overflow policy
+     */
+    public static long getDroppedCount() {
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        return dispatcher == null ? 0 : dispatcher.getDroppedCount();
+    }
+
+    /**
+     * Global threshold for this process; records below it are skipped before
+     * any formatting happens, unless a sink with its own threshold (see
+     * {@link #addSink(LogSink, int)}) wants them. Per-tag overrides and
+     * persisted levels are managed by {@link LogLevelRegistry}.
+     */
+    public static void setMinLevel(int level) {
+        LogLevelRegistry.setGlobalLevel(level);
+    }
+
+    public static int getMinLevel() {
+        return LogLevelRegistry.getGlobalLevel();
+    }
+
+    /**
+     * Cheap check for call sites that build expensive messages themselves
+     */
+    public static boolean isLoggable(int level, String tag) {
+        return LogLevelRegistry.isLoggable(level, tag);
+    }
+
+    public static boolean isDebugEnabled(String tag) {
+        return isLoggable(DEBUG, tag);
+    }
+
+    /**
+     * Caller class, method and line need a stack walk per log line, so they are
+     * only captured when explicitly enabled (debug builds)
+     */
+    public static void setCallerInfoEnabled(boolean enabled) {
+        callerInfoEnabled = enabled;
+    }
+
+    public static boolean isCallerInfoEnabled() {
+        return callerInfoEnabled;
+    }
+
+    public static void addSink(LogSink sink) {
+        addSink(sink, -1);
+    }
+
+    /**
+     * Adds a sink with its own threshold: it gets every record at or above
+     * {@code minLevel}, even when the logger levels (e.g. WARN in release)
+     * filter the record out for the other sinks and Sentry
+     */
+    public static synchronized void addSink(LogSink sink, int minLevel) {
+        sinks.add(new SinkEntry(sink, minLevel));
+        updateSinkMinLevel();
+    }
+
+    public static synchronized void removeSink(LogSink sink) {
+        for (SinkEntry entry : sinks) {
+            if (entry.sink == sink) {
+                sinks.remove(entry);
+            }
+        }
+        updateSinkMinLevel();
+    }
+
+    private static void updateSinkMinLevel() {
+        int level = OFF;
+        for (SinkEntry entry : sinks) {
+            if (entry.minLevel >= 0) {
+                level = Math.min(level, entry.minLevel);
+            }
+        }
+        sinkMinLevel = level;
+    }
+
+    /**
+     * True if any sink wants the record, unlike {@link #isLoggable} which only
+     * covers the logger levels
+     */
+    private static boolean shouldLog(int level, String tag) {
+        return level >= sinkMinLevel || isLoggable(level, tag);
+    }
+
     // VERBOSE level logging
     public static void v(String message) {
         v(DEFAULT_TAG, message);
     }
 
     public static void v(String tag, String message) {
-        Log.v(tag, GxyLoggerUtils.formatMessage(message));
+        report(VERBOSE, tag, message, null);
     }
 
     public static void v(String tag, String message, Throwable throwable) {
-        Log.v(tag, GxyLoggerUtils.formatMessage(message), throwable);
+        report(VERBOSE, tag, message, throwable);
+    }
+
+    public static void v(String tag, Supplier<String> message) {
+        if (shouldLog(VERBOSE, tag)) {
+            report(VERBOSE, tag, message.get(), null);
+        }
+    }
+
+    public static void v(String tag, String format, Object arg) {
+        if (shouldLog(VERBOSE, tag)) {
+            reportFormatted(VERBOSE, tag, format, new Object[] { arg });
+        }
+    }
+
+    public static void v(String tag, String format, Object arg1, Object arg2) {
+        if (shouldLog(VERBOSE, tag)) {
+            reportFormatted(VERBOSE, tag, format, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public static void v(String tag, String format, Object... args) {
+        if (shouldLog(VERBOSE, tag)) {
+            reportFormatted(VERBOSE, tag, format, args);
+        }
     }
 
     // DEBUG level logging
@@ -34,11 +213,35 @@ public class GxyLogger {
     }
 
     public static void d(String tag, String message) {
-        Log.d(tag, GxyLoggerUtils.formatMessage(message));
+        report(DEBUG, tag, message, null);
     }
 
     public static void d(String tag, String message, Throwable throwable) {
-        Log.d(tag, GxyLoggerUtils.formatMessage(message), throwable);
+        report(DEBUG, tag, message, throwable);
+    }
+
+    public static void d(String tag, Supplier<String> message) {
+        if (shouldLog(DEBUG, tag)) {
+            report(DEBUG, tag, message.get(), null);
+        }
+    }
+
+    public static void d(String tag, String format, Object arg) {
+        if (shouldLog(DEBUG, tag)) {
+            reportFormatted(DEBUG, tag, format, new Object[] { arg });
+        }
+    }
+
+    public static void d(String tag, String format, Object arg1, Object arg2) {
+        if (shouldLog(DEBUG, tag)) {
+            reportFormatted(DEBUG, tag, format, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public static void d(String tag, String format, Object... args) {
+        if (shouldLog(DEBUG, tag)) {
+            reportFormatted(DEBUG, tag, format, args);
+        }
     }
 
     // INFO level logging
@@ -47,11 +250,35 @@ public class GxyLogger {
     }
 
     public static void i(String tag, String message) {
-        Log.i(tag, GxyLoggerUtils.formatMessage(message));
+        report(INFO, tag, message, null);
     }
 
     public static void i(String tag, String message, Throwable throwable) {
-        Log.i(tag, GxyLoggerUtils.formatMessage(message), throwable);
+        report(INFO, tag, message, throwable);
+    }
+
+    public static void i(String tag, Supplier<String> message) {
+        if (shouldLog(INFO, tag)) {
+            report(INFO, tag, message.get(), null);
+        }
+    }
+
+    public static void i(String tag, String format, Object arg) {
+        if (shouldLog(INFO, tag)) {
+            reportFormatted(INFO, tag, format, new Object[] { arg });
+        }
+    }
+
+    public static void i(String tag, String format, Object arg1, Object arg2) {
+        if (shouldLog(INFO, tag)) {
+            reportFormatted(INFO, tag, format, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public static void i(String tag, String format, Object... args) {
+        if (shouldLog(INFO, tag)) {
+            reportFormatted(INFO, tag, format, args);
+        }
     }
 
     // WARN level logging
@@ -60,13 +287,35 @@ public class GxyLogger {
     }
 
     public static void w(String tag, String message) {
-        Log.w(tag, GxyLoggerUtils.formatMessage(message));
-        SentryUtils.reportToSentry(SentryLevel.WARNING, tag, message, null);
+        report(WARN, tag, message, null);
     }
 
     public static void w(String tag, String message, Throwable throwable) {
-        Log.w(tag, GxyLoggerUtils.formatMessage(message), throwable);
-        SentryUtils.reportToSentry(SentryLevel.WARNING, tag, message, throwable);
+        report(WARN, tag, message, throwable);
+    }
+
+    public static void w(String tag, Supplier<String> message) {
+        if (shouldLog(WARN, tag)) {
+            report(WARN, tag, message.get(), null);
+        }
+    }
+
+    public static void w(String tag, String format, Object arg) {
+        if (shouldLog(WARN, tag)) {
+            reportFormatted(WARN, tag, format, new Object[] { arg });
+        }
+    }
+
+    public static void w(String tag, String format, Object arg1, Object arg2) {
+        if (shouldLog(WARN, tag)) {
+            reportFormatted(WARN, tag, format, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public static void w(String tag, String format, Object... args) {
+        if (shouldLog(WARN, tag)) {
+            reportFormatted(WARN, tag, format, args);
+        }
     }
 
     // ERROR level logging
@@ -75,12 +324,87 @@ public class GxyLogger {
     }
 
     public static void e(String tag, String message) {
-        Log.e(tag, GxyLoggerUtils.formatMessage(message));
-        SentryUtils.reportToSentry(SentryLevel.ERROR, tag, message, null);
+        report(ERROR, tag, message, null);
     }
 
     public static void e(String tag, String message, Throwable throwable) {
-        Log.e(tag, GxyLoggerUtils.formatMessage(message), throwable);
-        SentryUtils.reportToSentry(SentryLevel.ERROR, tag, message, throwable);
+        report(ERROR, tag, message, throwable);
+    }
+
+    public static void e(String tag, Supplier<String> message) {
+        if (shouldLog(ERROR, tag)) {
+            report(ERROR, tag, message.get(), null);
+        }
+    }
+
+    public static void e(String tag, String format, Object arg) {
+        if (shouldLog(ERROR, tag)) {
+            reportFormatted(ERROR, tag, format, new Object[] { arg });
+        }
+    }
+
+    public static void e(String tag, String format, Object arg1, Object arg2) {
+        if (shouldLog(ERROR, tag)) {
+            reportFormatted(ERROR, tag, format, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public static void e(String tag, String format, Object... args) {
+        if (shouldLog(ERROR, tag)) {
+            reportFormatted(ERROR, tag, format, args);
+        }
+    }
+
+    // ========================================
+    // PIPELINE
+    // ========================================
+
+    private static void reportFormatted(int level, String tag, String format, Object[] args) {
+        report(level, tag, format, GxyLoggerUtils.formatTemplate(format, args),
+                GxyLoggerUtils.extractThrowable(format, args));
+    }
+
+    private static void report(int level, String tag, String message, Throwable throwable) {
+        report(level, tag, null, message, throwable);
+    }
+
+    /**
+     * @param template format string for {@code {}} calls, used to group
+     *                 repeated Sentry events; null for plain messages
+     */
+    private static void report(int level, String tag, String template, String message, Throwable throwable) {
+        if (!shouldLog(level, tag)) {
+            return;
+        }
+        log(level, tag, message, throwable);
+        if (level < WARN || !isLoggable(level, tag)) {
+            return;
+        }
+        if (level == WARN) {
+            SentryReporter.report(SentryLevel.WARNING, tag, template, message, throwable);
+        } else if (level == ERROR) {
+            SentryReporter.report(SentryLevel.ERROR, tag, template, message, throwable);
+        }
+    }
+
+    private static void log(int level, String tag, String message, Throwable throwable) {
+        StackTraceElement caller = callerInfoEnabled ? GxyLoggerUtils.findCaller() : null;
+        AsyncLogDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null) {
+            dispatcher.publish(level, tag, message, throwable, caller);
+            return;
+        }
+        LogEncoder encoded = LogEncoder.forCurrentThread().encode(System.currentTimeMillis(),
+                Thread.currentThread().getName(), caller, message);
+        writeToSinks(level, tag, encoded, throwable);
+    }
+
+    static void writeToSinks(int level, String tag, CharSequence formattedMessage, Throwable throwable) {
+        boolean loggable = isLoggable(level, tag);
+        for (SinkEntry entry : sinks) {
+            if (entry.minLevel >= 0 ? level >= entry.minLevel : loggable) {
+                entry.sink.write(level, tag, formattedMessage, throwable);
+            }
+        }
     }
-}
\ No newline at end of file
+}
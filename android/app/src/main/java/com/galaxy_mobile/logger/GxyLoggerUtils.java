@@ -1,9 +1,6 @@
 package com.galaxy_mobile.logger;
 
 import android.os.Build;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
 
 /**
  * Utility class for GxyLogger containing message formatting and helper
@@ -12,44 +9,84 @@ import java.util.Locale;
 public class GxyLoggerUtils {
 
     private static final String TAG = "GxyLoggerUtils";
+    private static final String LOGGER_PACKAGE = "com.galaxy_mobile.logger.";
 
-    // Date formatter for timestamps
-    private static final SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS", Locale.getDefault());
     // ========================================
     // PUBLIC UTILITY METHODS
     // ========================================
 
     /**
-     * Format log message with additional info (always includes timestamp, thread
-     * info, and method info)
+     * Format log message with additional info (timestamp, thread info and, when
+     * caller info is enabled, method info)
      */
     public static String formatMessage(String message) {
-        StringBuilder formatted = new StringBuilder();
+        return formatMessage(System.currentTimeMillis(), Thread.currentThread().getName(),
+                GxyLogger.isCallerInfoEnabled() ? findCaller() : null, message);
+    }
 
-        // Add timestamp (always)
-        formatted.append("[").append(dateFormat.format(new Date())).append("] ");
+    /**
+     * Format a log message captured earlier (e.g. by the async pipeline)
+     *
+     * @param caller log call site, or null if not captured
+     */
+    public static String formatMessage(long timeMillis, String threadName, StackTraceElement caller, String message) {
+        return LogEncoder.forCurrentThread().encode(timeMillis, threadName, caller, message).toString();
+    }
 
-        // Add thread info (always)
-        Thread currentThread = Thread.currentThread();
-        formatted.append("[Thread:").append(currentThread.getName()).append("] ");
+    /**
+     * Substitutes "{}" placeholders in order. A trailing Throwable that has no
+     * placeholder left is not rendered (it is passed to the sinks instead).
+     */
+    public static String formatTemplate(String template, Object[] args) {
+        if (template == null || args == null || args.length == 0) {
+            return template;
+        }
 
-        // Add method info (always)
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        if (stackTrace.length > 6) {
-            StackTraceElement caller = stackTrace[6]; // Skip this class and logger methods
-            String className = caller.getClassName();
-            String simpleClassName = className.substring(className.lastIndexOf('.') + 1);
-            formatted.append("[")
-                    .append(simpleClassName)
-                    .append(".")
-                    .append(caller.getMethodName())
-                    .append(":")
-                    .append(caller.getLineNumber())
-                    .append("] ");
+        StringBuilder result = new StringBuilder(template.length() + 16 * args.length);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = template.indexOf("{}", start)) >= 0) {
+            result.append(template, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
         }
+        result.append(template, start, template.length());
+        return result.toString();
+    }
 
-        formatted.append(message);
-        return formatted.toString();
+    /**
+     * @return the last argument if it is a Throwable not consumed by a "{}"
+     *         placeholder, otherwise null
+     */
+    public static Throwable extractThrowable(String template, Object[] args) {
+        if (args == null || args.length == 0 || !(args[args.length - 1] instanceof Throwable)) {
+            return null;
+        }
+        int placeholders = 0;
+        int index = template == null ? -1 : template.indexOf("{}");
+        while (index >= 0) {
+            placeholders++;
+            index = template.indexOf("{}", index + 2);
+        }
+        return placeholders < args.length ? (Throwable) args[args.length - 1] : null;
+    }
+
+    /**
+     * Finds the first stack frame outside the logger package
+     *
+     * @return the call site frame or null
+     */
+    static StackTraceElement findCaller() {
+        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+        for (StackTraceElement element : stackTrace) {
+            String className = element.getClassName();
+            if (className.startsWith(LOGGER_PACKAGE) || className.startsWith("java.lang.Thread")
+                    || className.startsWith("dalvik.")) {
+                continue;
+            }
+            return element;
+        }
+        return null;
     }
 
     /**
@@ -0,0 +1,200 @@
+package com.galaxy_mobile.logger;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams log sources through gzip into bounded temp files.
+ *
+ * Nothing is buffered beyond the stream buffers, so heap use does not depend
+ * on the size of the logs. When a part reaches the part limit a new gzip part
+ * is started; the parts are independent gzip members, so concatenating them
+ * gives one valid .gz file. Output beyond the total limit is dropped.
+ */
+public final class LogBundleWriter {
+    private static final String TAG = "LogBundleWriter";
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final long PROGRESS_INTERVAL_BYTES = 256 * 1024;
+
+    public interface ProgressListener {
+        void onProgress(long uncompressedBytes, long compressedBytes);
+    }
+
+    private final File directory;
+    private final String baseName;
+    private final long maxPartBytes;
+    private final long maxTotalBytes;
+
+    private final List<File> parts = new ArrayList<>();
+    private final PartStream stream = new PartStream();
+    private CountingOutputStream partCounter = null;
+    private GZIPOutputStream partGzip = null;
+    private long completedBytes = 0;
+    private long uncompressedBytes = 0;
+    private boolean truncated = false;
+    private ProgressListener progressListener = null;
+    private long nextProgressBytes = PROGRESS_INTERVAL_BYTES;
+
+    /**
+     * @param maxPartBytes  compressed size after which a new part is started
+     * @param maxTotalBytes compressed size after which output is dropped
+     */
+    public LogBundleWriter(File directory, String baseName, long maxPartBytes, long maxTotalBytes) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.maxPartBytes = maxPartBytes;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    /**
+     * Called on the writing thread roughly every 256 KiB of input
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * Stream for sources that copy bytes (UTF-8) themselves; must not be closed
+     * by the caller
+     */
+    public OutputStream stream() {
+        return stream;
+    }
+
+    public void writeText(String text) throws IOException {
+        stream.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void writeLine(String line) throws IOException {
+        writeText(line);
+        stream.write('\n');
+    }
+
+    /**
+     * Closes the current part
+     *
+     * @return the written parts in order; empty if nothing was written
+     */
+    public List<File> finish() throws IOException {
+        closePart();
+        if (truncated) {
+            GxyLogger.w(TAG, "Log bundle truncated at {} compressed bytes", completedBytes);
+        }
+        return new ArrayList<>(parts);
+    }
+
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    public long getCompressedBytes() {
+        return completedBytes + (partCounter != null ? partCounter.count : 0);
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private void openPart() throws IOException {
+        File part = new File(directory, baseName + "-part" + (parts.size() + 1) + ".txt.gz");
+        partCounter = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(part), BUFFER_SIZE));
+        partGzip = new GZIPOutputStream(partCounter, BUFFER_SIZE);
+        parts.add(part);
+    }
+
+    private void closePart() throws IOException {
+        if (partGzip == null) {
+            return;
+        }
+        partGzip.close();
+        completedBytes += partCounter.count;
+        partGzip = null;
+        partCounter = null;
+    }
+
+    private final class PartStream extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            if (!ensurePart()) {
+                return;
+            }
+            partGzip.write(b);
+            uncompressedBytes++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!ensurePart()) {
+                return;
+            }
+            partGzip.write(bytes, offset, length);
+            uncompressedBytes += length;
+            if (partCounter.count >= maxPartBytes) {
+                // Checked after the fact: a part may exceed the limit by the
+                // deflater's internal buffer
+                closePart();
+            }
+            if (progressListener != null && uncompressedBytes >= nextProgressBytes) {
+                nextProgressBytes = uncompressedBytes + PROGRESS_INTERVAL_BYTES;
+                progressListener.onProgress(uncompressedBytes, getCompressedBytes());
+            }
+        }
+
+        private boolean ensurePart() throws IOException {
+            // Lets a cancelled collection stop in the middle of a source
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Log bundle writing cancelled");
+            }
+            if (truncated) {
+                return false;
+            }
+            if (getCompressedBytes() >= maxTotalBytes) {
+                truncated = true;
+                return false;
+            }
+            if (partGzip == null) {
+                openPart();
+            }
+            return true;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.galaxy_mobile.logger;
+
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reusable per-thread log line encoder.
+ *
+ * Encodes "[HH:mm:ss.SSS] [Thread:name] [Class.method:line] message" into a
+ * recycled char buffer. The "HH:mm:ss" part is cached and only rebuilt when
+ * the second changes, and simple class names are computed once per class, so
+ * encoding a line does not allocate once the buffer has grown to its working
+ * size. The encoder is handed to sinks as a {@link CharSequence}; sinks that
+ * need a String call {@link #toString()}, which materializes it once per line.
+ * Sinks must not keep a reference to it after write() returns.
+ */
+public final class LogEncoder implements CharSequence {
+    private static final int INITIAL_CAPACITY = 256;
+    // A single huge line should not pin a huge buffer for the thread's lifetime
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000L;
+
+    private static final ThreadLocal<LogEncoder> ENCODERS = new ThreadLocal<LogEncoder>() {
+        @Override
+        protected LogEncoder initialValue() {
+            return new LogEncoder();
+        }
+    };
+
+    // Shared by all encoders: class name -> simple class name
+    private static final ConcurrentHashMap<String, String> simpleClassNames = new ConcurrentHashMap<>();
+
+    private char[] buffer = new char[INITIAL_CAPACITY];
+    private int length = 0;
+    private String materialized = null;
+
+    private final char[] secondPrefix = new char[8];
+    private long cachedSecond = Long.MIN_VALUE;
+    private long cachedHour = Long.MIN_VALUE;
+    private TimeZone timeZone = TimeZone.getDefault();
+    private long zoneOffset = 0;
+
+    LogEncoder() {
+    }
+
+    public static LogEncoder forCurrentThread() {
+        return ENCODERS.get();
+    }
+
+    /**
+     * Encodes a log line into this encoder, replacing its previous content
+     *
+     * @param caller call site, or null when caller info was not captured
+     */
+    public LogEncoder encode(long timeMillis, String threadName, StackTraceElement caller, CharSequence message) {
+        length = 0;
+        materialized = null;
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new char[INITIAL_CAPACITY];
+        }
+
+        append('[');
+        appendTime(timeMillis);
+        append("] [Thread:");
+        append(threadName);
+        append("] ");
+
+        if (caller != null) {
+            append('[');
+            append(simpleClassName(caller.getClassName()));
+            append('.');
+            append(caller.getMethodName());
+            append(':');
+            appendInt(caller.getLineNumber());
+            append("] ");
+        }
+
+        append(message);
+        return this;
+    }
+
+    /**
+     * Backing array for sinks that copy chars directly; only the first
+     * {@link #length()} chars are valid
+     */
+    public char[] buffer() {
+        return buffer;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return buffer[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        if (materialized == null) {
+            materialized = new String(buffer, 0, length);
+        }
+        return materialized;
+    }
+
+    static String simpleClassName(String className) {
+        String simpleName = simpleClassNames.get(className);
+        if (simpleName == null) {
+            simpleName = className.substring(className.lastIndexOf('.') + 1);
+            simpleClassNames.putIfAbsent(className, simpleName);
+        }
+        return simpleName;
+    }
+
+    private void appendTime(long timeMillis) {
+        long second = Math.floorDiv(timeMillis, 1000L);
+        if (second != cachedSecond) {
+            refreshSecondPrefix(timeMillis, second);
+        }
+        ensureCapacity(12);
+        System.arraycopy(secondPrefix, 0, buffer, length, secondPrefix.length);
+        length += secondPrefix.length;
+
+        int millis = (int) Math.floorMod(timeMillis, 1000L);
+        buffer[length++] = '.';
+        buffer[length++] = (char) ('0' + millis / 100);
+        buffer[length++] = (char) ('0' + (millis / 10) % 10);
+        buffer[length++] = (char) ('0' + millis % 10);
+    }
+
+    private void refreshSecondPrefix(long timeMillis, long second) {
+        long hour = Math.floorDiv(timeMillis, MILLIS_PER_HOUR);
+        if (hour != cachedHour) {
+            // Picks up time zone and DST changes at most once per hour
+            timeZone = TimeZone.getDefault();
+            cachedHour = hour;
+        }
+        zoneOffset = timeZone.getOffset(timeMillis);
+        cachedSecond = second;
+
+        int secondOfDay = (int) Math.floorMod(Math.floorDiv(timeMillis + zoneOffset, 1000L), 24 * 60 * 60L);
+        int hours = secondOfDay / 3600;
+        int minutes = (secondOfDay / 60) % 60;
+        int seconds = secondOfDay % 60;
+        secondPrefix[0] = (char) ('0' + hours / 10);
+        secondPrefix[1] = (char) ('0' + hours % 10);
+        secondPrefix[2] = ':';
+        secondPrefix[3] = (char) ('0' + minutes / 10);
+        secondPrefix[4] = (char) ('0' + minutes % 10);
+        secondPrefix[5] = ':';
+        secondPrefix[6] = (char) ('0' + seconds / 10);
+        secondPrefix[7] = (char) ('0' + seconds % 10);
+    }
+
+    private void append(char c) {
+        ensureCapacity(1);
+        buffer[length++] = c;
+    }
+
+    private void append(CharSequence text) {
+        if (text == null) {
+            text = "null";
+        }
+        int count = text.length();
+        ensureCapacity(count);
+        if (text instanceof String) {
+            ((String) text).getChars(0, count, buffer, length);
+        } else {
+            for (int i = 0; i < count; i++) {
+                buffer[length + i] = text.charAt(i);
+            }
+        }
+        length += count;
+    }
+
+    private void appendInt(int value) {
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[length + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = length + extra;
+        if (required > buffer.length) {
+            char[] grown = new char[Math.max(required, buffer.length * 2)];
+            System.arraycopy(buffer, 0, grown, 0, length);
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.galaxy_mobile.logger;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Process;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Rolling on-device log journal made of a few fixed-size memory-mapped
+ * segment files.
+ *
+ * Writing a line is a sequence of stores into a {@link MappedByteBuffer}; the
+ * kernel owns the pages, so everything written survives process death
+ * (including killProcess) without any flush. When a segment is full the
+ * oldest one is reused. Each segment starts with a small header holding its
+ * generation and write position, which is enough to read the segments back
+ * in order after a restart.
+ */
+public final class LogJournal implements LogSink {
+    private static final String TAG = "LogJournal";
+
+    private static final String DIRECTORY = "log-journal";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final int SEGMENT_COUNT = 4;
+    private static final int SEGMENT_SIZE = 512 * 1024;
+    // Independent of the logger levels, so release builds (WARN) still keep
+    // the INFO context that leads up to a problem
+    private static final int MIN_LEVEL = GxyLogger.INFO;
+
+    // Header: magic (int), generation (long), write position (int)
+    private static final int MAGIC = 0x47584a31; // "GXJ1"
+    private static final int GENERATION_OFFSET = 4;
+    private static final int POSITION_OFFSET = 12;
+    private static final int HEADER_SIZE = 16;
+
+    private static final int COPY_CHUNK_SIZE = 8 * 1024;
+    private static final char[] LEVEL_CHARS = { 'V', 'D', 'I', 'W', 'E' };
+
+    private static volatile LogJournal instance = null;
+
+    private final MappedByteBuffer[] segments = new MappedByteBuffer[SEGMENT_COUNT];
+    private int current;
+    private long generation;
+
+    private LogJournal(File directory) throws IOException {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = mapSegment(new File(directory, SEGMENT_PREFIX + i));
+        }
+        // Continue after the newest segment of the previous session
+        current = 0;
+        generation = 0;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            long segmentGeneration = generationOf(i);
+            if (segmentGeneration > generation) {
+                generation = segmentGeneration;
+                current = i;
+            }
+        }
+        if (generation == 0) {
+            startSegment(0);
+        } else {
+            int position = segments[current].getInt(POSITION_OFFSET);
+            if (position < HEADER_SIZE || position > SEGMENT_SIZE) {
+                // Corrupt header: keep the data, continue in the next segment
+                startSegment((current + 1) % SEGMENT_COUNT);
+            }
+        }
+    }
+
+    /**
+     * Opens (or creates) the journal in the app's files dir and registers it as
+     * a {@link GxyLogger} sink with its own INFO threshold
+     */
+    public static synchronized void init(Context context) {
+        if (instance != null) {
+            return;
+        }
+        try {
+            File directory = new File(context.getFilesDir(), DIRECTORY);
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                Log.e(TAG, "Could not create journal directory " + directory);
+                return;
+            }
+            LogJournal journal = new LogJournal(directory);
+            journal.writeSessionMarker();
+            instance = journal;
+            GxyLogger.addSink(journal, MIN_LEVEL);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to open log journal", e);
+        }
+    }
+
+    /**
+     * @return the journal, or null if it was not initialized or failed to open
+     */
+    public static LogJournal getInstance() {
+        return instance;
+    }
+
+    @Override
+    public synchronized void write(int level, String tag, CharSequence message, Throwable throwable) {
+        int position = segments[current].getInt(POSITION_OFFSET);
+        // Start lines that may not fit in a fresh segment, so a line is never
+        // split across segments (3 bytes per char is the UTF-8 worst case)
+        int worstCase = 3 * ((tag != null ? tag.length() : 4) + (message != null ? message.length() : 4)) + 8;
+        if (throwable == null && worstCase <= SEGMENT_SIZE - HEADER_SIZE) {
+            position = reserve(position, worstCase);
+        }
+
+        position = putCodePoint(position, level >= 0 && level < LEVEL_CHARS.length ? LEVEL_CHARS[level] : '?');
+        position = putCodePoint(position, '/');
+        position = putChars(position, tag);
+        position = putCodePoint(position, ':');
+        position = putCodePoint(position, ' ');
+        position = putChars(position, message);
+        if (throwable != null) {
+            position = putCodePoint(position, '\n');
+            position = putChars(position, Log.getStackTraceString(throwable));
+        }
+        position = putCodePoint(position, '\n');
+
+        // Publishing the position last keeps a half-written line invisible
+        segments[current].putInt(POSITION_OFFSET, position);
+    }
+
+    /**
+     * Copies the journal, oldest line first, to the given stream (UTF-8)
+     *
+     * @return number of bytes copied
+     */
+    public long copyTo(OutputStream out) throws IOException {
+        int[] order = new int[SEGMENT_COUNT];
+        long[] generations = new long[SEGMENT_COUNT];
+        int[] limits = new int[SEGMENT_COUNT];
+        int count = 0;
+
+        synchronized (this) {
+            // Oldest first: the segment after the current one, wrapping around
+            for (int i = 1; i <= SEGMENT_COUNT; i++) {
+                int index = (current + i) % SEGMENT_COUNT;
+                long segmentGeneration = generationOf(index);
+                if (segmentGeneration == 0) {
+                    continue;
+                }
+                order[count] = index;
+                generations[count] = segmentGeneration;
+                limits[count] = segments[index].getInt(POSITION_OFFSET);
+                count++;
+            }
+        }
+
+        // Copied without the lock; the writer only appends past the snapshot
+        // positions, unless it wraps around into a segment being copied
+        byte[] chunk = new byte[COPY_CHUNK_SIZE];
+        long copied = 0;
+        for (int i = 0; i < count; i++) {
+            ByteBuffer view = segments[order[i]].duplicate();
+            int position = HEADER_SIZE;
+            while (position < limits[i]) {
+                if (generationOf(order[i]) != generations[i]) {
+                    break;
+                }
+                int length = Math.min(chunk.length, limits[i] - position);
+                view.position(position);
+                view.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+                position += length;
+                copied += length;
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * @return journal content as text, oldest line first
+     */
+    public String readAll() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        copyTo(out);
+        return out.toString("UTF-8");
+    }
+
+    private void writeSessionMarker() {
+        String marker = "===== Session start "
+                + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss Z", Locale.US).format(new Date())
+                + " pid=" + Process.myPid()
+                + " device=" + Build.MANUFACTURER + " " + Build.MODEL
+                + " sdk=" + Build.VERSION.SDK_INT + " =====";
+        write(GxyLogger.INFO, TAG, marker, null);
+    }
+
+    private long generationOf(int index) {
+        MappedByteBuffer segment = segments[index];
+        if (segment.getInt(0) != MAGIC) {
+            return 0;
+        }
+        return segment.getLong(GENERATION_OFFSET);
+    }
+
+    private void startSegment(int index) {
+        generation++;
+        current = index;
+        MappedByteBuffer segment = segments[index];
+        segment.putInt(POSITION_OFFSET, HEADER_SIZE);
+        segment.putLong(GENERATION_OFFSET, generation);
+        segment.putInt(0, MAGIC);
+    }
+
+    /**
+     * Moves to the next segment if {@code needed} more bytes don't fit
+     *
+     * @return position to write at
+     */
+    private int reserve(int position, int needed) {
+        if (position + needed <= SEGMENT_SIZE) {
+            return position;
+        }
+        // Publish what was written so far, then continue in a fresh segment
+        segments[current].putInt(POSITION_OFFSET, position);
+        startSegment((current + 1) % SEGMENT_COUNT);
+        return HEADER_SIZE;
+    }
+
+    private int putChars(int position, CharSequence text) {
+        if (text == null) {
+            text = "null";
+        }
+        if (text instanceof LogEncoder) {
+            char[] chars = ((LogEncoder) text).buffer();
+            int length = text.length();
+            for (int i = 0; i < length; i++) {
+                position = putUtf16(chars[i], i + 1 < length ? chars[i + 1] : 0, position);
+                if (Character.isHighSurrogate(chars[i]) && i + 1 < length && Character.isLowSurrogate(chars[i + 1])) {
+                    i++;
+                }
+            }
+            return position;
+        }
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            char next = i + 1 < length ? text.charAt(i + 1) : 0;
+            position = putUtf16(c, next, position);
+            if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+                i++;
+            }
+        }
+        return position;
+    }
+
+    private int putUtf16(char c, char next, int position) {
+        if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+            return putCodePoint(position, Character.toCodePoint(c, next));
+        }
+        return putCodePoint(position, Character.isSurrogate(c) ? '?' : c);
+    }
+
+    // UTF-8 encodes one code point at the given position of the current segment
+    private int putCodePoint(int position, int codePoint) {
+        int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+        position = reserve(position, size);
+        MappedByteBuffer segment = segments[current];
+        switch (size) {
+            case 1:
+                segment.put(position, (byte) codePoint);
+                break;
+            case 2:
+                segment.put(position, (byte) (0xc0 | (codePoint >> 6)));
+                segment.put(position + 1, (byte) (0x80 | (codePoint & 0x3f)));
+                break;
+            case 3:
+                segment.put(position, (byte) (0xe0 | (codePoint >> 12)));
+                segment.put(position + 1, (byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                segment.put(position + 2, (byte) (0x80 | (codePoint & 0x3f)));
+                break;
+            default:
+                segment.put(position, (byte) (0xf0 | (codePoint >> 18)));
+                segment.put(position + 1, (byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                segment.put(position + 2, (byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                segment.put(position + 3, (byte) (0x80 | (codePoint & 0x3f)));
+                break;
+        }
+        return position + size;
+    }
+
+    private static MappedByteBuffer mapSegment(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (raf.length() != SEGMENT_SIZE) {
+                raf.setLength(SEGMENT_SIZE);
+            }
+            // The mapping stays valid after the channel is closed
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.galaxy_mobile.logger;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Global log threshold plus per-tag overrides, e.g. everything at WARN but
+ * AudioDeviceModule at DEBUG.
+ *
+ * The configuration is an immutable snapshot swapped in on every change, so
+ * the hot path is one volatile read and at most one map lookup. Levels set
+ * from JS are persisted and survive restarts until they are reset.
+ */
+public final class LogLevelRegistry {
+    private static final String TAG = "LogLevelRegistry";
+
+    private static final String PREFS_NAME = "gxy_log_levels";
+    private static final String KEY_GLOBAL = "global";
+    private static final String KEY_TAGS = "tags";
+    private static final int NOT_SET = -1;
+
+    private static final String[] LEVEL_NAMES = { "VERBOSE", "DEBUG", "INFO", "WARN", "ERROR", "OFF" };
+
+    private static volatile Config config = new Config(GxyLogger.VERBOSE, Collections.emptyMap());
+    private static volatile int defaultLevel = GxyLogger.VERBOSE;
+    private static SharedPreferences preferences = null;
+
+    private LogLevelRegistry() {
+    }
+
+    private static final class Config {
+        final int globalLevel;
+        final Map<String, Integer> tagLevels;
+
+        Config(int globalLevel, Map<String, Integer> tagLevels) {
+            this.globalLevel = globalLevel;
+            this.tagLevels = tagLevels;
+        }
+    }
+
+    /**
+     * Loads the persisted configuration, falling back to the build default
+     *
+     * @param buildDefaultLevel global level used while nothing was set from JS
+     */
+    public static synchronized void init(Context context, int buildDefaultLevel) {
+        defaultLevel = buildDefaultLevel;
+        try {
+            preferences = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+            int persistedGlobal = preferences.getInt(KEY_GLOBAL, NOT_SET);
+            Map<String, Integer> persistedTags = decodeTags(preferences.getString(KEY_TAGS, ""));
+            config = new Config(persistedGlobal == NOT_SET ? buildDefaultLevel : persistedGlobal, persistedTags);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to load log levels", e);
+            config = new Config(buildDefaultLevel, Collections.emptyMap());
+        }
+    }
+
+    public static boolean isLoggable(int level, String tag) {
+        Config current = config;
+        if (!current.tagLevels.isEmpty() && tag != null) {
+            Integer tagLevel = current.tagLevels.get(tag);
+            if (tagLevel != null) {
+                return level >= tagLevel;
+            }
+        }
+        return level >= current.globalLevel;
+    }
+
+    /**
+     * Changes the global level for this process only (not persisted)
+     */
+    static synchronized void setGlobalLevel(int level) {
+        config = new Config(level, config.tagLevels);
+    }
+
+    public static int getGlobalLevel() {
+        return config.globalLevel;
+    }
+
+    /**
+     * @return copy of the per-tag overrides
+     */
+    public static Map<String, Integer> getTagLevels() {
+        return new HashMap<>(config.tagLevels);
+    }
+
+    /**
+     * Replaces the whole configuration and persists it
+     *
+     * @param tagLevels per-tag overrides, replaces all previous overrides
+     */
+    public static synchronized void setLevels(int globalLevel, Map<String, Integer> tagLevels) {
+        Map<String, Integer> tags = tagLevels == null || tagLevels.isEmpty()
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new HashMap<>(tagLevels));
+        config = new Config(globalLevel, tags);
+
+        if (preferences != null) {
+            preferences.edit()
+                    .putInt(KEY_GLOBAL, globalLevel)
+                    .putString(KEY_TAGS, encodeTags(tags))
+                    .apply();
+        }
+    }
+
+    /**
+     * Drops persisted levels and goes back to the build default
+     */
+    public static synchronized void reset() {
+        config = new Config(defaultLevel, Collections.emptyMap());
+        if (preferences != null) {
+            preferences.edit().clear().apply();
+        }
+    }
+
+    /**
+     * @param name VERBOSE, DEBUG, INFO, WARN, ERROR or OFF (case-insensitive)
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static int parseLevel(String name) {
+        if (name != null) {
+            for (int i = 0; i < LEVEL_NAMES.length; i++) {
+                if (LEVEL_NAMES[i].equalsIgnoreCase(name.trim())) {
+                    return i;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown log level: " + name);
+    }
+
+    public static String levelName(int level) {
+        if (level >= 0 && level < LEVEL_NAMES.length) {
+            return LEVEL_NAMES[level];
+        }
+        return String.valueOf(level);
+    }
+
+    // "Tag=LEVEL,Tag2=LEVEL"
+    private static String encodeTags(Map<String, Integer> tags) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : tags.entrySet()) {
+            if (encoded.length() > 0) {
+                encoded.append(',');
+            }
+            encoded.append(entry.getKey()).append('=').append(levelName(entry.getValue()));
+        }
+        return encoded.toString();
+    }
+
+    private static Map<String, Integer> decodeTags(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> tags = new HashMap<>();
+        for (String entry : encoded.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                tags.put(entry.substring(0, separator), parseLevel(entry.substring(separator + 1)));
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Ignoring invalid persisted log level: " + entry);
+            }
+        }
+        return tags.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(tags);
+    }
+}
@@ -0,0 +1,14 @@
+package com.galaxy_mobile.logger;
+
+/**
+ * What the async log buffer does when producers outrun the consumer
+ */
+public enum LogOverflowPolicy {
+    /** Evict the oldest buffered record to make room for the new one */
+    DROP_OLDEST,
+    /**
+     * Reject VERBOSE/DEBUG records once the buffer is nearly full so INFO and
+     * above keep their room; evict the oldest record only when completely full
+     */
+    DROP_DEBUG_FIRST
+}
@@ -0,0 +1,39 @@
+package com.galaxy_mobile.logger;
+
+/**
+ * Mutable log record. Instances live in the ring buffer slots and are reused,
+ * so publishing a record does not allocate.
+ */
+final class LogRecord {
+    int level;
+    String tag;
+    String message;
+    Throwable throwable;
+    long timeMillis;
+    String threadName;
+    StackTraceElement caller;
+
+    void set(int level, String tag, String message, Throwable throwable, long timeMillis, String threadName,
+            StackTraceElement caller) {
+        this.level = level;
+        this.tag = tag;
+        this.message = message;
+        this.throwable = throwable;
+        this.timeMillis = timeMillis;
+        this.threadName = threadName;
+        this.caller = caller;
+    }
+
+    void copyFrom(LogRecord other) {
+        set(other.level, other.tag, other.message, other.throwable, other.timeMillis, other.threadName,
+                other.caller);
+    }
+
+    void clear() {
+        tag = null;
+        message = null;
+        throwable = null;
+        threadName = null;
+        caller = null;
+    }
+}
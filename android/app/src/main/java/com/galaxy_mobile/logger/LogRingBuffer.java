@@ -0,0 +1,149 @@
+package com.galaxy_mobile.logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer ring buffer of log records.
+ *
+ * Each slot carries a sequence number (Vyukov bounded queue): a producer
+ * claims a slot with a CAS on the tail, fills the preallocated record and
+ * publishes it by bumping the slot sequence. The consumer copies the record
+ * out and releases the slot right away, so a slow sink never holds a slot.
+ * When the buffer is full a producer evicts the oldest record itself instead
+ * of waiting for the consumer.
+ */
+final class LogRingBuffer {
+
+    private final LogRecord[] slots;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+    private final int mask;
+    private final int debugWatermark;
+    private final LogOverflowPolicy policy;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicLong droppedOldest = new AtomicLong();
+    private final AtomicLong droppedDebug = new AtomicLong();
+
+    LogRingBuffer(int requestedCapacity, LogOverflowPolicy policy) {
+        this.capacity = roundUpToPowerOfTwo(Math.max(requestedCapacity, 16));
+        this.mask = capacity - 1;
+        this.debugWatermark = capacity - capacity / 4;
+        this.policy = policy;
+        this.slots = new LogRecord[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogRecord();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publishes a record. Never blocks.
+     *
+     * @return false if the record was dropped by the overflow policy
+     */
+    boolean offer(int level, String tag, String message, Throwable throwable, long timeMillis,
+            String threadName, StackTraceElement caller) {
+        boolean lowPriority = level <= GxyLogger.DEBUG;
+        if (lowPriority && policy == LogOverflowPolicy.DROP_DEBUG_FIRST && size() >= debugWatermark) {
+            droppedDebug.incrementAndGet();
+            return false;
+        }
+
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index].set(level, tag, message, throwable, timeMillis, threadName, caller);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // Buffer is full
+                if (lowPriority && policy == LogOverflowPolicy.DROP_DEBUG_FIRST) {
+                    droppedDebug.incrementAndGet();
+                    return false;
+                }
+                if (poll(null)) {
+                    droppedOldest.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest published record.
+     *
+     * @param out receives a copy of the record, or null to discard it
+     * @return false if nothing was ready
+     */
+    boolean poll(LogRecord out) {
+        while (true) {
+            long pos = head.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    LogRecord record = slots[index];
+                    if (out != null) {
+                        out.copyFrom(record);
+                    }
+                    record.clear();
+                    sequences.set(index, pos + capacity);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // Empty, or the producer of this slot has not published yet
+                return false;
+            }
+        }
+    }
+
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    /**
+     * Number of records claimed by producers so far, published or not yet
+     */
+    long offeredCount() {
+        return tail.get();
+    }
+
+    /**
+     * Number of records taken out so far, by the consumer or by eviction
+     */
+    long takenCount() {
+        return head.get();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long getDroppedOldest() {
+        return droppedOldest.get();
+    }
+
+    long getDroppedDebug() {
+        return droppedDebug.get();
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+}
@@ -0,0 +1,91 @@
+package com.galaxy_mobile.logger;
+
+import android.os.SystemClock;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-call-site sampling for high-frequency log lines.
+ *
+ * Keep one instance per call site in a static field and guard the log call
+ * with {@link #sample()}:
+ *
+ * <pre>
+ * private static final LogSampler DEVICE_ADDED_LOG = LogSampler.perSecond(5);
+ * ...
+ * if (DEVICE_ADDED_LOG.sample()) {
+ *     GxyLogger.d(TAG, "onAudioDevicesAdded() device: {}", device.getType());
+ * }
+ * </pre>
+ */
+public final class LogSampler {
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int everyNth;
+    private final int perSecond;
+    // everyNth: call counter; perSecond: (second << COUNT_BITS) | count
+    private final AtomicLong state = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    private LogSampler(int everyNth, int perSecond) {
+        this.everyNth = everyNth;
+        this.perSecond = perSecond;
+    }
+
+    /**
+     * Lets the first call and then every n-th call through
+     */
+    public static LogSampler everyNth(int n) {
+        return new LogSampler(Math.max(1, n), 0);
+    }
+
+    /**
+     * Lets at most {@code limit} calls per second through
+     */
+    public static LogSampler perSecond(int limit) {
+        return new LogSampler(0, (int) Math.min(Math.max(1, limit), COUNT_MASK));
+    }
+
+    /**
+     * @return true if this call should be logged
+     */
+    public boolean sample() {
+        boolean pass = everyNth > 0 ? sampleNth() : samplePerSecond();
+        if (!pass) {
+            skipped.incrementAndGet();
+        }
+        return pass;
+    }
+
+    /**
+     * @return number of calls sampled out so far
+     */
+    public long getSkippedCount() {
+        return skipped.get();
+    }
+
+    private boolean sampleNth() {
+        return state.getAndIncrement() % everyNth == 0;
+    }
+
+    private boolean samplePerSecond() {
+        long second = SystemClock.uptimeMillis() / 1000;
+        while (true) {
+            long current = state.get();
+            long currentSecond = current >>> COUNT_BITS;
+            long count = current & COUNT_MASK;
+            long next;
+            if (currentSecond != second) {
+                next = (second << COUNT_BITS) | 1;
+            } else if (count < perSecond) {
+                next = current + 1;
+            } else {
+                return false;
+            }
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
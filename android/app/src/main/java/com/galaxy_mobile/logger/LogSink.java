@@ -0,0 +1,12 @@
+package com.galaxy_mobile.logger;
+
+/**
+ * Destination for formatted log lines (logcat, files, ...)
+ */
+public interface LogSink {
+    /**
+     * @param message formatted line; usually a recycled {@link LogEncoder}, so it
+     *                must not be kept after this call returns
+     */
+    void write(int level, String tag, CharSequence message, Throwable throwable);
+}
@@ -0,0 +1,83 @@
+package com.galaxy_mobile.logger;
+
+import android.os.Process;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Dumps logcat lines of this process only, letting logcat do the filtering.
+ *
+ * Uses --pid, tag filter specs and -T &lt;time&gt;, so only the app's lines in
+ * the requested time window leave the logcat process; nothing is filtered
+ * in Java. Lines are streamed straight into a {@link LogBundleWriter}.
+ */
+public final class LogcatCapture {
+    private static final String TAG = "LogcatCapture";
+
+    private final long windowMs;
+    private final List<String> filterSpecs = new ArrayList<>();
+
+    /**
+     * @param windowMs how far back to capture, e.g. the last 10 minutes
+     */
+    public LogcatCapture(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Adds a logcat filter spec such as "ReactNativeJS:V" or "*:W". Without
+     * specs all lines of the process are captured.
+     */
+    public LogcatCapture addFilterSpec(String spec) {
+        filterSpecs.add(spec);
+        return this;
+    }
+
+    List<String> buildCommand(long nowMillis) {
+        List<String> command = new ArrayList<>();
+        command.add("logcat");
+        command.add("-d"); // dump and exit
+        command.add("-v"); // format
+        command.add("threadtime");
+        command.add("--pid=" + Process.myPid());
+        command.add("-T"); // lines since
+        command.add(new SimpleDateFormat("MM-dd HH:mm:ss.SSS", Locale.US).format(new Date(nowMillis - windowMs)));
+        command.addAll(filterSpecs);
+        return command;
+    }
+
+    /**
+     * Streams the matching lines into the writer
+     *
+     * @return number of lines captured
+     * @throws InterruptedIOException if the calling thread was interrupted
+     */
+    public int captureTo(LogBundleWriter writer) throws IOException {
+        List<String> command = buildCommand(System.currentTimeMillis());
+        GxyLogger.d(TAG, "Running {}", command);
+
+        java.lang.Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        int lines = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writer.writeLine(line);
+                lines++;
+            }
+        } finally {
+            process.destroy();
+        }
+        GxyLogger.d(TAG, "Captured {} logcat lines", lines);
+        return lines;
+    }
+}
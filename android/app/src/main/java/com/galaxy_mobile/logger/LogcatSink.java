@@ -0,0 +1,31 @@
+package com.galaxy_mobile.logger;
+
+import android.util.Log;
+
+/**
+ * Writes formatted log lines to android.util.Log
+ */
+public class LogcatSink implements LogSink {
+
+    @Override
+    public void write(int level, String tag, CharSequence formatted, Throwable throwable) {
+        String message = formatted.toString();
+        switch (level) {
+            case GxyLogger.VERBOSE:
+                Log.v(tag, message, throwable);
+                break;
+            case GxyLogger.DEBUG:
+                Log.d(tag, message, throwable);
+                break;
+            case GxyLogger.INFO:
+                Log.i(tag, message, throwable);
+                break;
+            case GxyLogger.WARN:
+                Log.w(tag, message, throwable);
+                break;
+            default:
+                Log.e(tag, message, throwable);
+                break;
+        }
+    }
+}
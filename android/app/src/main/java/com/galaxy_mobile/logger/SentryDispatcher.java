@@ -0,0 +1,154 @@
+package com.galaxy_mobile.logger;
+
+import android.os.Process;
+import android.util.Log;
+import io.sentry.Sentry;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single low-priority thread that runs all Sentry calls made by
+ * {@link SentryUtils} and the perf tracers, so event serialization never
+ * happens on the UI thread (BroadcastReceivers, service callbacks).
+ *
+ * Tasks run in submission order. The queue is bounded: when it is full the
+ * oldest queued task is dropped. Callers must capture everything that
+ * depends on their own thread (tags, message, timestamps) before handing the
+ * task over.
+ */
+public final class SentryDispatcher {
+    private static final String TAG = "SentryDispatcher";
+    private static final String THREAD_NAME = "GxySentry";
+    private static final int QUEUE_CAPACITY = 256;
+
+    private static final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            queue, runnable -> {
+                Thread thread = new Thread(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    private static final AtomicLong droppedCount = new AtomicLong();
+
+    private SentryDispatcher() {
+    }
+
+    // Created on first executeLater, so processes that never need it have no timer thread
+    private static final class TimerHolder {
+        static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME + "Timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a fire-and-forget Sentry call after a delay; the timer only
+     * hands the task over, it runs on the dispatch thread like
+     * {@link #execute(Runnable)}
+     */
+    public static void executeLater(Runnable task, long delayMs) {
+        TimerHolder.timer.schedule(() -> execute(task), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a fire-and-forget Sentry call, dropping the oldest queued one if
+     * the queue is full
+     */
+    public static void execute(Runnable task) {
+        Runnable guarded = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                // Don't let Sentry errors kill the dispatch thread
+                Log.e(TAG, "Sentry task failed", e);
+            }
+        };
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                executor.execute(guarded);
+                return;
+            } catch (RejectedExecutionException e) {
+                dropOldest();
+            }
+        }
+        droppedCount.incrementAndGet();
+        Log.w(TAG, "Sentry queue full, dropped task");
+    }
+
+    /**
+     * Queues a Sentry call whose outcome the caller waits for
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    static <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Waits for queued tasks to run and then flushes the Sentry transport,
+     * both within the given timeout
+     *
+     * @return true if the queue drained and the transport flush ran before
+     *         the timeout; Sentry does not report whether the transport
+     *         emptied
+     */
+    public static boolean flush(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        // Counts of suppressed events would be lost with the process
+        SentryReporter.flushSummaries();
+        CountDownLatch drained = new CountDownLatch(1);
+        boolean completed = false;
+        try {
+            executor.execute(drained::countDown);
+            completed = drained.await(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Sentry queue full, flushing transport only");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining > 0) {
+            try {
+                Sentry.flush(remaining);
+            } catch (Exception e) {
+                Log.e(TAG, "Error flushing Sentry", e);
+            }
+        }
+        return completed && remaining > 0;
+    }
+
+    /**
+     * @return number of Sentry calls dropped because the queue was full
+     */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private static void dropOldest() {
+        Runnable dropped = queue.poll();
+        if (dropped == null) {
+            return;
+        }
+        droppedCount.incrementAndGet();
+        if (dropped instanceof Future) {
+            // Unblocks a caller waiting on submit()
+            ((Future<?>) dropped).cancel(false);
+        }
+    }
+}
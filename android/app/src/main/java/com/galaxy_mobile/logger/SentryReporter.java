@@ -0,0 +1,279 @@
+package com.galaxy_mobile.logger;
+
+import android.os.SystemClock;
+import io.sentry.SentryLevel;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deduplicating, rate-limited front of {@link SentryUtils} for GxyLogger.w/e.
+ *
+ * Events are fingerprinted by tag plus message template (numbers in plain
+ * messages are normalized away), and each fingerprint as well as the whole
+ * reporter has a token bucket. Events over budget are only counted; the count
+ * is sent later as one "repeated N times in T s" event, so an error loop costs
+ * a handful of Sentry events instead of hundreds. While any count is pending,
+ * a sweep on {@link SentryDispatcher} sends the summaries of fingerprints that
+ * went idle, and {@link SentryDispatcher#flush} sends all of them.
+ */
+final class SentryReporter {
+    private static final String TAG = "SentryReporter";
+
+    // Per fingerprint: burst of 3, then one event per minute
+    private static final double FINGERPRINT_BURST = 3;
+    private static final double FINGERPRINT_REFILL_PER_MS = 1.0 / 60_000;
+    // All fingerprints together: burst of 20, then one event per 6 seconds
+    private static final double GLOBAL_BURST = 20;
+    private static final double GLOBAL_REFILL_PER_MS = 1.0 / 6_000;
+
+    // Fingerprints idle this long get their pending summary sent
+    private static final long SUMMARY_IDLE_MS = 60_000;
+    private static final int MAX_FINGERPRINTS = 256;
+    private static final int MAX_FINGERPRINT_LENGTH = 200;
+
+    private static final TokenBucket globalBucket = new TokenBucket(GLOBAL_BURST, GLOBAL_REFILL_PER_MS);
+    private static final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_FINGERPRINTS;
+        }
+    };
+    private static long lastSweepMs = 0;
+    private static boolean sweepScheduled = false;
+
+    private SentryReporter() {
+    }
+
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double refillPerMs;
+        private double tokens;
+        private long lastRefillMs;
+
+        TokenBucket(double capacity, double refillPerMs) {
+            this.capacity = capacity;
+            this.refillPerMs = refillPerMs;
+            this.tokens = capacity;
+            this.lastRefillMs = SystemClock.elapsedRealtime();
+        }
+
+        boolean tryAcquire(long nowMs) {
+            refill(nowMs);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        boolean hasToken(long nowMs) {
+            refill(nowMs);
+            return tokens >= 1;
+        }
+
+        private void refill(long nowMs) {
+            long elapsed = nowMs - lastRefillMs;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * refillPerMs);
+                lastRefillMs = nowMs;
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final TokenBucket bucket = new TokenBucket(FINGERPRINT_BURST, FINGERPRINT_REFILL_PER_MS);
+        SentryLevel level;
+        String tag;
+        String message;
+        int suppressed = 0;
+        long firstSuppressedMs = 0;
+        long lastSeenMs = 0;
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    // What to send once the lock is released
+    private static final class Pending {
+        final SentryLevel level;
+        final String tag;
+        final String message;
+        final Throwable throwable;
+        final String fingerprint;
+        final int repeatCount;
+
+        Pending(SentryLevel level, String tag, String message, Throwable throwable, String fingerprint,
+                int repeatCount) {
+            this.level = level;
+            this.tag = tag;
+            this.message = message;
+            this.throwable = throwable;
+            this.fingerprint = fingerprint;
+            this.repeatCount = repeatCount;
+        }
+    }
+
+    /**
+     * @param template format string the message was built from, or null for
+     *                 plain messages
+     */
+    static void report(SentryLevel level, String tag, String template, String message, Throwable throwable) {
+        String fingerprint = fingerprint(tag, template != null ? template : message, throwable);
+        long now = SystemClock.elapsedRealtime();
+        List<Pending> toSend = new ArrayList<>(2);
+
+        synchronized (entries) {
+            Entry entry = entries.get(fingerprint);
+            if (entry == null) {
+                entry = new Entry(fingerprint);
+                entries.put(fingerprint, entry);
+            }
+            entry.level = level;
+            entry.tag = tag;
+            entry.message = message;
+            entry.lastSeenMs = now;
+
+            if (entry.bucket.hasToken(now) && globalBucket.tryAcquire(now)) {
+                entry.bucket.tryAcquire(now);
+                if (entry.suppressed > 0) {
+                    // This event stands in for the ones dropped since the last one sent
+                    toSend.add(summary(entry, now, throwable));
+                } else {
+                    toSend.add(new Pending(level, tag, message, throwable, fingerprint, 1));
+                }
+            } else {
+                if (entry.suppressed == 0) {
+                    entry.firstSuppressedMs = now;
+                }
+                entry.suppressed++;
+                scheduleSweep();
+            }
+
+            if (now - lastSweepMs >= SUMMARY_IDLE_MS) {
+                lastSweepMs = now;
+                sweepIdle(now, entry, toSend);
+            }
+        }
+
+        send(toSend);
+    }
+
+    /**
+     * Sends the summaries of all pending counts, idle or not, e.g. before the
+     * process exits
+     */
+    static void flushSummaries() {
+        long now = SystemClock.elapsedRealtime();
+        List<Pending> toSend = new ArrayList<>();
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                if (entry.suppressed > 0) {
+                    toSend.add(summary(entry, now, null));
+                }
+            }
+        }
+        send(toSend);
+    }
+
+    private static void send(List<Pending> toSend) {
+        for (Pending pending : toSend) {
+            SentryUtils.reportToSentry(pending.level, pending.tag, pending.message, pending.throwable,
+                    pending.fingerprint, pending.repeatCount);
+        }
+    }
+
+    /**
+     * Must hold the entries lock
+     */
+    private static void scheduleSweep() {
+        if (sweepScheduled) {
+            return;
+        }
+        sweepScheduled = true;
+        SentryDispatcher.executeLater(SentryReporter::scheduledSweep, SUMMARY_IDLE_MS);
+    }
+
+    // Sentry dispatch thread
+    private static void scheduledSweep() {
+        long now = SystemClock.elapsedRealtime();
+        List<Pending> toSend = new ArrayList<>();
+        synchronized (entries) {
+            sweepScheduled = false;
+            lastSweepMs = now;
+            sweepIdle(now, null, toSend);
+            for (Entry entry : entries.values()) {
+                if (entry.suppressed > 0) {
+                    // Still firing, or over the global budget: check again later
+                    scheduleSweep();
+                    break;
+                }
+            }
+        }
+        send(toSend);
+    }
+
+    /**
+     * Sends summaries for fingerprints that stopped firing while over budget.
+     * Must hold the entries lock.
+     */
+    private static void sweepIdle(long now, Entry current, List<Pending> toSend) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry == current || now - entry.lastSeenMs < SUMMARY_IDLE_MS) {
+                continue;
+            }
+            if (entry.suppressed > 0) {
+                if (!globalBucket.tryAcquire(now)) {
+                    return;
+                }
+                toSend.add(summary(entry, now, null));
+            }
+            iterator.remove();
+        }
+    }
+
+    private static Pending summary(Entry entry, long now, Throwable throwable) {
+        int repeatCount = entry.suppressed + 1;
+        long seconds = Math.max(1, (now - entry.firstSuppressedMs) / 1000);
+        String message = entry.message + " (repeated " + repeatCount + " times in " + seconds + " s)";
+        entry.suppressed = 0;
+        entry.firstSuppressedMs = 0;
+        return new Pending(entry.level, entry.tag, message, throwable, entry.fingerprint, repeatCount);
+    }
+
+    /**
+     * tag|template|ThrowableClass, with digit runs replaced by '#' so
+     * "device 12 failed" and "device 13 failed" share a fingerprint
+     */
+    static String fingerprint(String tag, String template, Throwable throwable) {
+        StringBuilder fingerprint = new StringBuilder(64);
+        fingerprint.append(tag).append('|');
+        if (template != null) {
+            int length = Math.min(template.length(), MAX_FINGERPRINT_LENGTH);
+            boolean inNumber = false;
+            for (int i = 0; i < length; i++) {
+                char c = template.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    if (!inNumber) {
+                        fingerprint.append('#');
+                        inNumber = true;
+                    }
+                } else {
+                    fingerprint.append(c);
+                    inNumber = false;
+                }
+            }
+        }
+        if (throwable != null) {
+            fingerprint.append('|').append(throwable.getClass().getName());
+        }
+        return fingerprint.toString();
+    }
+}
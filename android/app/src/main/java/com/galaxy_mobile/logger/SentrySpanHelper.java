@@ -4,14 +4,31 @@ import android.util.Log;
 import io.sentry.ISpan;
 import io.sentry.Sentry;
 import io.sentry.SpanStatus;
+import io.sentry.TransactionContext;
+import io.sentry.TransactionOptions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Helper class for managing Sentry spans
- * Simplifies span creation, tracking, and completion
+ * Simplifies span creation, tracking, and completion.
+ *
+ * If a span is already active the operation becomes its child. Otherwise a
+ * root transaction is opened for a sampled fraction of calls (per-operation
+ * rate). Unsampled calls get a shared no-op helper: no span, no logging and
+ * no allocation.
  */
 public class SentrySpanHelper {
     private static final String TAG = "SentrySpanHelper";
 
+    // Fraction of calls without a parent span that open a root transaction
+    private static final double DEFAULT_ROOT_SAMPLE_RATE = 0.05;
+
+    private static final SentrySpanHelper NOOP = new SentrySpanHelper("noop");
+    private static final ConcurrentHashMap<String, Double> sampleRates = new ConcurrentHashMap<>();
+    private static volatile double defaultSampleRate = DEFAULT_ROOT_SAMPLE_RATE;
+
     private ISpan span;
     private final String operation;
 
@@ -19,28 +36,54 @@ public class SentrySpanHelper {
         this.operation = operation;
     }
 
+    /**
+     * Root transaction sample rate for one operation, overriding the default
+     *
+     * @param rate 0 (never) to 1 (always)
+     */
+    public static void setSampleRate(String operation, double rate) {
+        sampleRates.put(operation, rate);
+    }
+
+    public static void setDefaultSampleRate(double rate) {
+        defaultSampleRate = rate;
+    }
+
     /**
      * Creates and starts a new Sentry span
      * 
      * @param operation The operation name for the span (e.g. "audio.manager.init")
-     * @return SentrySpanHelper instance or null if span creation failed
+     * @return SentrySpanHelper instance; a shared no-op instance if the
+     *         operation is not sampled
      */
     public static SentrySpanHelper start(String operation) {
         try {
-            SentrySpanHelper helper = new SentrySpanHelper(operation);
             ISpan parentSpan = Sentry.getSpan();
-
             if (parentSpan != null) {
+                SentrySpanHelper helper = new SentrySpanHelper(operation);
                 helper.span = parentSpan.startChild(operation);
-                Log.v(TAG, "Started span: " + operation);
-            } else {
-                Log.v(TAG, "No parent span available, span not created: " + operation);
+                return helper;
             }
 
+            Double operationRate = sampleRates.get(operation);
+            double rate = operationRate != null ? operationRate : defaultSampleRate;
+            if (rate <= 0 || ThreadLocalRandom.current().nextDouble() >= rate) {
+                return NOOP;
+            }
+
+            // Sampled here, so Sentry's traces sample rate must not drop it again
+            TransactionContext context = new TransactionContext(operation, operation);
+            context.setSampled(true);
+            TransactionOptions options = new TransactionOptions();
+            // Not bound to the scope: concurrent native operations stay separate
+            options.setBindToScope(false);
+
+            SentrySpanHelper helper = new SentrySpanHelper(operation);
+            helper.span = Sentry.startTransaction(context, options);
             return helper;
         } catch (Exception e) {
             Log.e(TAG, "Failed to start span: " + operation, e);
-            return new SentrySpanHelper(operation); // Return helper without span
+            return NOOP;
         }
     }
 
@@ -54,7 +97,6 @@ public class SentrySpanHelper {
         try {
             if (span != null) {
                 span.setDescription(description);
-                Log.v(TAG, "Set description for span '" + operation + "': " + description);
             }
         } catch (Exception e) {
             Log.e(TAG, "Failed to set description for span: " + operation, e);
@@ -73,7 +115,6 @@ public class SentrySpanHelper {
         try {
             if (span != null) {
                 span.setTag(key, value);
-                Log.v(TAG, "Set tag for span '" + operation + "': " + key + "=" + value);
             }
         } catch (Exception e) {
             Log.e(TAG, "Failed to set tag for span: " + operation, e);
@@ -92,7 +133,6 @@ public class SentrySpanHelper {
         try {
             if (span != null) {
                 span.setData(key, value);
-                Log.v(TAG, "Set data for span '" + operation + "': " + key + "=" + value);
             }
         } catch (Exception e) {
             Log.e(TAG, "Failed to set data for span: " + operation, e);
@@ -110,7 +150,6 @@ public class SentrySpanHelper {
         try {
             if (span != null) {
                 span.setThrowable(throwable);
-                Log.v(TAG, "Set throwable for span '" + operation + "': " + throwable.getMessage());
             }
         } catch (Exception e) {
             Log.e(TAG, "Failed to set throwable for span: " + operation, e);
@@ -128,7 +167,6 @@ public class SentrySpanHelper {
             if (span != null) {
                 span.setStatus(status);
                 span.finish();
-                Log.v(TAG, "Finished span '" + operation + "' with status: " + status);
             }
         } catch (Exception e) {
             Log.e(TAG, "Failed to finish span: " + operation, e);
@@ -1,34 +1,59 @@
 package com.galaxy_mobile.logger;
 
 import android.util.Log;
+import com.galaxy_mobile.perf.MetricsRegistry;
 import io.sentry.Sentry;
 import io.sentry.SentryLevel;
 import io.sentry.Attachment;
+import io.sentry.Breadcrumb;
 import io.sentry.Hint;
-import java.nio.charset.StandardCharsets;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * Utility class for Sentry integration
- * Centralizes all Sentry-related functionality for the GalaxyRN application
+ * Centralizes all Sentry-related functionality for the GalaxyRN application.
+ * Sentry calls run on {@link SentryDispatcher}, never on the caller's thread.
  */
 public class SentryUtils {
 
     private static final String TAG = "SentryUtils";
+    // Sentry context holding a MetricsRegistry snapshot
+    private static final String METRICS_CONTEXT = "native_metrics";
 
     public static void reportToSentry(SentryLevel level, String tag, String message, Throwable throwable) {
+        reportToSentry(level, tag, message, throwable, null, 1);
+    }
+
+    /**
+     * @param fingerprint groups message events by template instead of by the
+     *                    exact text, or null for Sentry's default grouping
+     * @param repeatCount how many occurrences this event stands for
+     */
+    static void reportToSentry(SentryLevel level, String tag, String message, Throwable throwable,
+            String fingerprint, int repeatCount) {
         Log.d(TAG, "reportToSentry: level=" + level + ", tag=" + tag + ", message=" + message);
-        try {
-            // Create a formatted message with tag
-            String sentryMessage = String.format("[%s] %s", tag, message);
-            Log.v(TAG, "Created formatted message for Sentry: " + sentryMessage);
+        // Captured here: the capture itself runs on the Sentry dispatch thread
+        String sentryMessage = "[" + tag + "] " + message;
+        String callerThread = Thread.currentThread().getName();
 
+        SentryDispatcher.execute(() -> {
             if (throwable != null) {
                 Log.d(TAG, "Reporting exception to Sentry with message");
                 // Report exception with message
                 Sentry.withScope(scope -> {
                     scope.setTag("logger_tag", tag);
+                    scope.setTag("caller_thread", callerThread);
                     scope.setLevel(level);
+                    scope.setContexts(METRICS_CONTEXT, MetricsRegistry.snapshot());
                     scope.setExtra("formatted_message", sentryMessage);
+                    if (repeatCount > 1) {
+                        scope.setExtra("repeat_count", String.valueOf(repeatCount));
+                    }
                     Sentry.captureException(throwable);
                 });
                 Log.i(TAG, "Successfully reported exception to Sentry");
@@ -37,15 +62,20 @@ public class SentryUtils {
                 // Report message only
                 Sentry.withScope(scope -> {
                     scope.setTag("logger_tag", tag);
+                    scope.setTag("caller_thread", callerThread);
                     scope.setLevel(level);
+                    scope.setContexts(METRICS_CONTEXT, MetricsRegistry.snapshot());
+                    if (fingerprint != null) {
+                        scope.setFingerprint(Collections.singletonList(fingerprint));
+                    }
+                    if (repeatCount > 1) {
+                        scope.setExtra("repeat_count", String.valueOf(repeatCount));
+                    }
                     Sentry.captureMessage(sentryMessage);
                 });
                 Log.i(TAG, "Successfully reported message to Sentry");
             }
-        } catch (Exception e) {
-            // Don't let Sentry errors break the logging
-            Log.e(TAG, "Failed to report to Sentry", e);
-        }
+        });
     }
 
     public static void reportCritical(String tag, String message, Throwable throwable) {
@@ -54,14 +84,16 @@ public class SentryUtils {
         Log.e(tag, "CRITICAL: " + message, throwable);
 
         // Always report to Sentry, regardless of settings
-        try {
-            String criticalMessage = String.format("CRITICAL: [%s] %s", tag, message);
-            Log.d(TAG, "Formatted critical message: " + criticalMessage);
+        String criticalMessage = "CRITICAL: [" + tag + "] " + message;
+        String callerThread = Thread.currentThread().getName();
 
+        SentryDispatcher.execute(() -> {
             Sentry.withScope(scope -> {
                 scope.setTag("logger_tag", tag);
                 scope.setTag("severity", "critical");
+                scope.setTag("caller_thread", callerThread);
                 scope.setLevel(SentryLevel.FATAL);
+                scope.setContexts(METRICS_CONTEXT, MetricsRegistry.snapshot());
                 scope.setExtra("formatted_message", criticalMessage);
                 if (throwable != null) {
                     Sentry.captureException(throwable);
@@ -70,53 +102,98 @@ public class SentryUtils {
                 }
             });
             Log.i(TAG, "Successfully reported critical error to Sentry");
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to report critical error to Sentry", e);
-        }
+        });
+    }
+
+    /**
+     * Message event with its own grouping and extra data, for reporters that
+     * do their own rate limiting (e.g. the main-thread watchdog)
+     *
+     * @param fingerprint Sentry grouping keys
+     * @param extras      attached as event extras
+     */
+    public static void reportEvent(SentryLevel level, String tag, String message, List<String> fingerprint,
+            Map<String, String> extras) {
+        String sentryMessage = "[" + tag + "] " + message;
+        String callerThread = Thread.currentThread().getName();
+
+        SentryDispatcher.execute(() -> Sentry.withScope(scope -> {
+            scope.setTag("logger_tag", tag);
+            scope.setTag("caller_thread", callerThread);
+            scope.setLevel(level);
+            scope.setContexts(METRICS_CONTEXT, MetricsRegistry.snapshot());
+            scope.setFingerprint(fingerprint);
+            for (Map.Entry<String, String> extra : extras.entrySet()) {
+                scope.setExtra(extra.getKey(), extra.getValue());
+            }
+            Sentry.captureMessage(sentryMessage);
+        }));
+    }
+
+    /**
+     * Plain Sentry.captureException, off the caller's thread
+     */
+    public static void captureException(Throwable throwable) {
+        String callerThread = Thread.currentThread().getName();
+        SentryDispatcher.execute(() -> Sentry.withScope(scope -> {
+            scope.setTag("caller_thread", callerThread);
+            Sentry.captureException(throwable);
+        }));
     }
 
     public static void addBreadcrumb(String category, String message) {
         Log.d(TAG, "addBreadcrumb: category=" + category + ", message=" + message);
-        try {
-            Sentry.addBreadcrumb(message, category);
-            Log.v(TAG, "Successfully added breadcrumb to Sentry");
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to add breadcrumb to Sentry", e);
-        }
+        // Created here so the breadcrumb keeps the caller's timestamp
+        Breadcrumb breadcrumb = new Breadcrumb();
+        breadcrumb.setMessage(message);
+        breadcrumb.setCategory(category);
+
+        SentryDispatcher.execute(() -> Sentry.addBreadcrumb(breadcrumb));
     }
 
-    public static void sendLogFile(String email, String logs) {
-        try {
-            Log.d(TAG, "Sending log file to Sentry for email: " + email);
-            if (logs == null || logs.isEmpty()) {
+    /**
+     * Uploads log files as attachments on the Sentry dispatch thread. The files
+     * are attached by path, so they are never loaded into the heap here.
+     *
+     * @param parts log bundle parts, each below the Sentry attachment size limit
+     * @return completes when the event was captured; fails with the upload
+     *         error, or is cancelled if the Sentry queue overflowed
+     */
+    public static Future<Void> sendLogFile(String email, List<File> parts) {
+        Log.d(TAG, "Sending " + parts.size() + " log file part(s) to Sentry for email: " + email);
+        return SentryDispatcher.submit(() -> {
+            if (parts.isEmpty()) {
                 Log.e(TAG, "No logs to send");
-                return;
+                return null;
             }
 
-            byte[] logsBytes = logs.getBytes(StandardCharsets.UTF_8);
-            Log.d(TAG, "Logs converted to bytes, size: " + logsBytes.length + " bytes");
-
-            Attachment attachment = new Attachment(logsBytes, "application-logs.txt");
-            Log.d(TAG, "Attachment created from bytes, size: " + logsBytes.length + " bytes");
-            Hint hint = Hint.withAttachment(attachment);
-            Log.d(TAG, "Hint created with attachment");
+            try {
+                List<Attachment> attachments = new ArrayList<>(parts.size());
+                long totalBytes = 0;
+                for (File part : parts) {
+                    attachments.add(new Attachment(part.getAbsolutePath(), part.getName(), "application/gzip"));
+                    totalBytes += part.length();
+                }
+                Hint hint = Hint.withAttachments(attachments);
+                Log.d(TAG, "Hint created with " + attachments.size() + " attachment(s), size: " + totalBytes + " bytes");
 
-            Exception logException = new Exception("Log file sent to " + email);
+                Exception logException = new Exception("Log file sent to " + email);
 
-            Sentry.withScope(scope -> {
-                scope.setTag("email", email);
-                scope.setLevel(SentryLevel.ERROR);
-                scope.addAttachment(attachment);
-                Log.d(TAG, "Attachment added to scope");
+                Sentry.withScope(scope -> {
+                    scope.setTag("email", email);
+                    scope.setLevel(SentryLevel.ERROR);
+                    scope.setExtra("log_parts", String.valueOf(parts.size()));
 
-                Sentry.captureException(logException, hint);
-                Log.d(TAG, "Exception captured with attachment via Hint");
-            });
+                    Sentry.captureException(logException, hint);
+                    Log.d(TAG, "Exception captured with attachments via Hint");
+                });
 
-            Log.i(TAG, "Successfully sent log file to Sentry");
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to send log file to Sentry", e);
-            throw new RuntimeException("Failed to send log file to Sentry", e);
-        }
+                Log.i(TAG, "Successfully sent log file to Sentry");
+                return null;
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to send log file to Sentry", e);
+                throw new RuntimeException("Failed to send log file to Sentry", e);
+            }
+        });
     }
 }
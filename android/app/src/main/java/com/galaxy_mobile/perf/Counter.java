@@ -0,0 +1,25 @@
+package com.galaxy_mobile.perf;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic event counter
+ */
+public final class Counter {
+    private final AtomicLong value = new AtomicLong();
+
+    Counter() {
+    }
+
+    public void increment() {
+        value.incrementAndGet();
+    }
+
+    public void add(long delta) {
+        value.addAndGet(delta);
+    }
+
+    public long get() {
+        return value.get();
+    }
+}
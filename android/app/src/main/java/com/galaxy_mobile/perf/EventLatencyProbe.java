@@ -0,0 +1,134 @@
+package com.galaxy_mobile.perf;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.galaxy_mobile.logger.GxyLogger;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how long native events take to reach JS listeners.
+ *
+ * For each probed event, {@link #PROBE_EVENT} is emitted right before it with
+ * an id and the native send time. Events are delivered in order on the JS
+ * thread, so the probe is handled when the event itself is about to be. The
+ * JS acknowledger (PerfBridge.startEventLatencyProbe) calls back with the id
+ * and its receive time, which gives per event name:
+ * <ul>
+ * <li>"event.delivery.&lt;name&gt;": native send to JS receive, wall clock
+ * (same device clock on both sides, millisecond resolution)</li>
+ * <li>"event.rtt.&lt;name&gt;": native send to ack back on the native side,
+ * monotonic clock</li>
+ * </ul>
+ * The event payloads are not changed. Off by default.
+ */
+public final class EventLatencyProbe {
+    private static final String TAG = "EventLatencyProbe";
+
+    public static final String PROBE_EVENT = "gxyEventProbe";
+
+    // Acks that never arrive (JS reloaded, listener removed) must not pile up
+    private static final int MAX_PENDING = 256;
+
+    // Histograms of one event name, looked up once per name
+    private static final class EventHistograms {
+        final LatencyHistogram rtt;
+        final LatencyHistogram delivery;
+
+        EventHistograms(String eventName) {
+            this.rtt = MetricsRegistry.histogram("event.rtt." + eventName);
+            this.delivery = MetricsRegistry.histogram("event.delivery." + eventName);
+        }
+    }
+
+    private static final class Pending {
+        final EventHistograms histograms;
+        final long sentNanos;
+        final long sentAtMs;
+
+        Pending(EventHistograms histograms, long sentNanos, long sentAtMs) {
+            this.histograms = histograms;
+            this.sentNanos = sentNanos;
+            this.sentAtMs = sentAtMs;
+        }
+    }
+
+    private static final ConcurrentHashMap<String, EventHistograms> histogramsByEvent = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextId = new AtomicInteger();
+    private static final ConcurrentHashMap<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+    // Empty means all events
+    private static volatile Set<String> eventNames = Collections.emptySet();
+
+    private EventLatencyProbe() {
+    }
+
+    /**
+     * @param names event names to probe, empty for all events
+     */
+    public static void enable(Set<String> names) {
+        eventNames = Collections.unmodifiableSet(new HashSet<>(names));
+        pending.clear();
+        enabled = true;
+        GxyLogger.i(TAG, "Probing events: {}", names.isEmpty() ? "all" : names);
+    }
+
+    public static void disable() {
+        enabled = false;
+        pending.clear();
+        GxyLogger.i(TAG, "Event probe disabled");
+    }
+
+    /**
+     * Called by SendEventToClient before emitting an event
+     *
+     * @param publishedNanos System.nanoTime() when the event was sent, so the
+     *                       hop to the emitter thread is included
+     * @return payload of the {@link #PROBE_EVENT} to emit first, or null if
+     *         the event is not probed
+     */
+    public static WritableMap stamp(String eventName, long publishedNanos) {
+        if (!enabled || PROBE_EVENT.equals(eventName)) {
+            return null;
+        }
+        Set<String> names = eventNames;
+        if (!names.isEmpty() && !names.contains(eventName)) {
+            return null;
+        }
+        if (pending.size() >= MAX_PENDING) {
+            MetricsRegistry.counter("event.probe.lost").add(pending.size());
+            pending.clear();
+        }
+
+        int id = nextId.incrementAndGet();
+        long sentAtMs = System.currentTimeMillis() - (System.nanoTime() - publishedNanos) / 1_000_000;
+        EventHistograms histograms = histogramsByEvent.get(eventName);
+        if (histograms == null) {
+            histograms = histogramsByEvent.computeIfAbsent(eventName, EventHistograms::new);
+        }
+        pending.put(id, new Pending(histograms, publishedNanos, sentAtMs));
+
+        WritableMap probe = Arguments.createMap();
+        probe.putInt("id", id);
+        probe.putString("name", eventName);
+        probe.putDouble("sentAtMs", sentAtMs);
+        return probe;
+    }
+
+    /**
+     * Called from JS with the probe id and the JS receive time (Date.now())
+     */
+    public static void ack(int id, double receivedAtMs) {
+        Pending probe = pending.remove(id);
+        if (probe == null) {
+            return;
+        }
+        probe.histograms.rtt.recordSince(probe.sentNanos);
+        long deliveryMs = Math.max(0, Math.round(receivedAtMs) - probe.sentAtMs);
+        probe.histograms.delivery.recordMicros(deliveryMs * 1000);
+    }
+}
@@ -0,0 +1,210 @@
+package com.galaxy_mobile.perf;
+
+import android.content.Context;
+import android.hardware.display.DisplayManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+import android.view.Display;
+
+import com.facebook.react.bridge.Arguments;
+import com.galaxy_mobile.EventPriority;
+import com.galaxy_mobile.SendEventToClient;
+import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.state.NativeStateBus;
+
+import java.util.Map;
+
+/**
+ * Frame-time telemetry from {@link Choreographer} callbacks.
+ *
+ * While running, every frame duration (time between consecutive vsync
+ * callbacks) goes into a histogram and into jank counters, keyed by UI state:
+ * lobby, room or pip, read from {@link NativeStateBus}. A frame is janky when
+ * it lasts more than {@link #JANK_FRAME_INTERVALS} refresh intervals of the
+ * display; 32 and 100 ms are counted too. Feed count is supplied by JS. A
+ * summary of
+ * the current window is logged and emitted to JS as {@link #SUMMARY_EVENT}
+ * every {@link #SUMMARY_INTERVAL_MS} and whenever the UI state changes, so
+ * each summary covers a single layout.
+ *
+ * Keeping a frame callback posted requests vsync on every frame, so the
+ * monitor is off by default and switched on from JS. All frame state is
+ * touched only on the main thread.
+ */
+public final class FrameJankMonitor {
+    private static final String TAG = "FrameJankMonitor";
+
+    public static final String SUMMARY_EVENT = "frameJankSummary";
+
+    private static final long SUMMARY_INTERVAL_MS = 30_000;
+    // Of the display refresh interval, read again for each window since
+    // adaptive refresh rate displays switch between rates
+    private static final double JANK_FRAME_INTERVALS = 1.5;
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+    private static final long JANK_32_NANOS = 32_000_000L;
+    private static final long JANK_100_NANOS = 100_000_000L;
+    // Longer gaps mean no frames were requested (idle or backgrounded), not jank
+    private static final long MAX_FRAME_NANOS = 1_000_000_000L;
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static volatile int feedCount;
+    private static boolean running;
+
+    // Main thread only
+    private static Display display;
+    private static long lastFrameNanos;
+    private static String windowState;
+    private static int windowFeedCount;
+    private static long windowStartMs;
+    private static LatencyHistogram windowFrames = new LatencyHistogram();
+    private static float windowRefreshRate;
+    private static long windowJankNanos;
+    private static long windowJank;
+    private static long windowJank32;
+    private static long windowJank100;
+    // Metrics of the window state, looked up once per window rather than per frame
+    private static LatencyHistogram stateFrames;
+    private static Counter stateJank;
+    private static Counter stateJank32;
+    private static Counter stateJank100;
+
+    private static final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!running) {
+                return;
+            }
+            onFrame(frameTimeNanos);
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    };
+
+    private FrameJankMonitor() {
+    }
+
+    public static void start(Context context) {
+        DisplayManager displayManager = context.getSystemService(DisplayManager.class);
+        mainHandler.post(() -> {
+            if (running) {
+                return;
+            }
+            display = displayManager != null ? displayManager.getDisplay(Display.DEFAULT_DISPLAY) : null;
+            running = true;
+            lastFrameNanos = 0;
+            resetWindow(currentState());
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+            GxyLogger.i(TAG, "Frame monitor started");
+        });
+    }
+
+    public static void stop() {
+        mainHandler.post(() -> {
+            if (!running) {
+                return;
+            }
+            running = false;
+            Choreographer.getInstance().removeFrameCallback(frameCallback);
+            emitSummary();
+            GxyLogger.i(TAG, "Frame monitor stopped");
+        });
+    }
+
+    /**
+     * Number of feeds currently shown, supplied by JS
+     */
+    public static void setFeedCount(int count) {
+        feedCount = count;
+    }
+
+    private static String currentState() {
+        if (NativeStateBus.PIP_MODE.get()) {
+            return "pip";
+        }
+        return NativeStateBus.IN_ROOM.get() ? "room" : "lobby";
+    }
+
+    private static void onFrame(long frameTimeNanos) {
+        String state = currentState();
+        if (!state.equals(windowState) || feedCount != windowFeedCount) {
+            emitSummary();
+            resetWindow(state);
+            // The frame straddling the change belongs to neither layout
+            lastFrameNanos = frameTimeNanos;
+            return;
+        }
+
+        if (lastFrameNanos != 0) {
+            long duration = frameTimeNanos - lastFrameNanos;
+            if (duration > 0 && duration < MAX_FRAME_NANOS) {
+                recordFrame(duration);
+            }
+        }
+        lastFrameNanos = frameTimeNanos;
+
+        if (SystemClock.uptimeMillis() - windowStartMs >= SUMMARY_INTERVAL_MS) {
+            emitSummary();
+            resetWindow(state);
+        }
+    }
+
+    private static void recordFrame(long durationNanos) {
+        windowFrames.recordNanos(durationNanos);
+        stateFrames.recordNanos(durationNanos);
+        if (durationNanos > windowJankNanos) {
+            windowJank++;
+            stateJank.increment();
+        }
+        if (durationNanos > JANK_32_NANOS) {
+            windowJank32++;
+            stateJank32.increment();
+        }
+        if (durationNanos > JANK_100_NANOS) {
+            windowJank100++;
+            stateJank100.increment();
+        }
+    }
+
+    private static void resetWindow(String state) {
+        if (!state.equals(windowState)) {
+            stateFrames = MetricsRegistry.histogram("frame." + state);
+            stateJank = MetricsRegistry.counter("frame." + state + ".jank");
+            stateJank32 = MetricsRegistry.counter("frame." + state + ".over_32ms");
+            stateJank100 = MetricsRegistry.counter("frame." + state + ".over_100ms");
+        }
+        windowState = state;
+        windowFeedCount = feedCount;
+        windowStartMs = SystemClock.uptimeMillis();
+        windowRefreshRate = refreshRate();
+        windowJankNanos = (long) (JANK_FRAME_INTERVALS * 1_000_000_000L / windowRefreshRate);
+        windowFrames = new LatencyHistogram();
+        windowJank = 0;
+        windowJank32 = 0;
+        windowJank100 = 0;
+    }
+
+    private static float refreshRate() {
+        float rate = display != null ? display.getRefreshRate() : 0f;
+        return rate >= 1f ? rate : DEFAULT_REFRESH_RATE;
+    }
+
+    private static void emitSummary() {
+        if (windowFrames.getCount() == 0) {
+            return;
+        }
+        Map<String, Object> summary = windowFrames.snapshot();
+        summary.put("state", windowState);
+        summary.put("feedCount", (double) windowFeedCount);
+        summary.put("windowMs", (double) (SystemClock.uptimeMillis() - windowStartMs));
+        summary.put("refreshRate", (double) windowRefreshRate);
+        summary.put("jank", (double) windowJank);
+        summary.put("over32ms", (double) windowJank32);
+        summary.put("over100ms", (double) windowJank100);
+        summary.put("model", Build.MODEL);
+
+        GxyLogger.i(TAG, "Frames {} feeds {}: {}", windowState, windowFeedCount, summary);
+        SendEventToClient.sendEvent(SUMMARY_EVENT, Arguments.makeNativeMap(summary), EventPriority.DROPPABLE);
+    }
+}
@@ -0,0 +1,25 @@
+package com.galaxy_mobile.perf;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Last reported value of something (queue length, active feeds, ...)
+ */
+public final class Gauge {
+    private final AtomicLong value = new AtomicLong();
+
+    Gauge() {
+    }
+
+    public void set(long newValue) {
+        value.set(newValue);
+    }
+
+    public void add(long delta) {
+        value.addAndGet(delta);
+    }
+
+    public long get() {
+        return value.get();
+    }
+}
@@ -0,0 +1,134 @@
+package com.galaxy_mobile.perf;
+
+import android.os.Build;
+import android.os.Process;
+import android.os.Trace;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Systrace/Perfetto markers for native entry points, optionally mirrored into
+ * the in-app {@link TraceRecorder}.
+ *
+ * Naming scheme, so all app sections can be filtered with "Gxy:":
+ * <ul>
+ * <li>sync sections: "Gxy:&lt;Class&gt;.&lt;method&gt;", always ended on the same
+ * thread in a finally block</li>
+ * <li>async sections: "Gxy:&lt;area&gt;.&lt;operation&gt;" (e.g.
+ * "Gxy:audio.sco_connect") for operations that finish later or on another
+ * thread, identified by the cookie from {@link #beginAsync(String)}</li>
+ * </ul>
+ *
+ * <pre>
+ * GxyTrace.begin("AudioDeviceModule.setAudioDevice");
+ * try {
+ *     ...
+ * } finally {
+ *     GxyTrace.end();
+ * }
+ * </pre>
+ */
+public final class GxyTrace {
+    private static final String PREFIX = "Gxy:";
+    // Trace section names longer than this are rejected by android.os.Trace
+    private static final int MAX_SECTION_LENGTH = 127;
+
+    // Section names by short name; entry point names are constants, so this stays small
+    private static final ConcurrentHashMap<String, String> sectionNames = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextCookie = new AtomicInteger();
+    private static volatile boolean recording;
+    private static volatile boolean recordingEverEnabled;
+
+    private GxyTrace() {
+    }
+
+    /**
+     * In-app recording for export as Chrome trace JSON; off by default
+     */
+    public static void setRecording(boolean enabled) {
+        if (enabled && !recording) {
+            TraceRecorder.clear();
+            recordingEverEnabled = true;
+        }
+        recording = enabled;
+    }
+
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * @return true if recording was enabled at some point in this process, so
+     *         callers can skip the recorder entirely otherwise
+     */
+    public static boolean wasRecordingEnabled() {
+        return recordingEverEnabled;
+    }
+
+    public static int getRecordedCount() {
+        return TraceRecorder.size();
+    }
+
+    /**
+     * Writes the recorded events as Chrome trace JSON, openable in Perfetto
+     *
+     * @return number of events written, 0 if nothing was recorded
+     */
+    public static int writeChromeTrace(OutputStream output) throws IOException {
+        return TraceRecorder.writeChromeTrace(output);
+    }
+
+    public static void begin(String name) {
+        String section = sectionName(name);
+        Trace.beginSection(section);
+        if (recording) {
+            TraceRecorder.record(TraceRecorder.PHASE_BEGIN, section, Process.myTid(), 0);
+        }
+    }
+
+    public static void end() {
+        Trace.endSection();
+        if (recording) {
+            TraceRecorder.record(TraceRecorder.PHASE_END, null, Process.myTid(), 0);
+        }
+    }
+
+    /**
+     * @return cookie to pass to {@link #endAsync(String, int)}
+     */
+    public static int beginAsync(String name) {
+        int cookie = nextCookie.incrementAndGet();
+        String section = sectionName(name);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(section, cookie);
+        }
+        if (recording) {
+            TraceRecorder.record(TraceRecorder.PHASE_ASYNC_BEGIN, section, Process.myTid(), cookie);
+        }
+        return cookie;
+    }
+
+    public static void endAsync(String name, int cookie) {
+        String section = sectionName(name);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(section, cookie);
+        }
+        if (recording) {
+            TraceRecorder.record(TraceRecorder.PHASE_ASYNC_END, section, Process.myTid(), cookie);
+        }
+    }
+
+    private static String sectionName(String name) {
+        String section = sectionNames.get(name);
+        if (section == null) {
+            section = sectionNames.computeIfAbsent(name, key -> {
+                String full = PREFIX + key;
+                return full.length() > MAX_SECTION_LENGTH ? full.substring(0, MAX_SECTION_LENGTH) : full;
+            });
+        }
+        return section;
+    }
+}
@@ -0,0 +1,286 @@
+package com.galaxy_mobile.perf;
+
+import android.os.Debug;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.ProcessLifecycleOwner;
+
+import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.logger.SentryUtils;
+
+import io.sentry.SentryLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detects main-thread stalls before they become ANRs.
+ *
+ * A background thread posts a ping to the main {@link Handler} and waits for
+ * it. If the ping is not handled within the threshold, the main thread's
+ * stack is sampled a few times; identical stacks are aggregated and the stall
+ * is reported to Sentry, grouped by the hottest app frame. The report goes
+ * out when the main thread recovers, or once all samples are taken or the
+ * stall passes {@link #ONGOING_REPORT_MS}, whichever comes first, so stalls
+ * that end in an ANR or a kill are reported too. Reports are rate-limited per
+ * session.
+ *
+ * The watchdog only runs while the app is in the foreground: the thread is
+ * stopped when the process goes to the background and started again when it
+ * comes back, so a backgrounded app is not woken every threshold period.
+ */
+public final class MainThreadWatchdog {
+    private static final String TAG = "MainThreadWatchdog";
+    private static final String THREAD_NAME = "GxyWatchdog";
+
+    public static final long DEFAULT_THRESHOLD_MS = 500;
+    private static final long MIN_THRESHOLD_MS = 100;
+    private static final int MAX_SAMPLES = 10;
+    private static final long MIN_SAMPLE_INTERVAL_MS = 50;
+    private static final int MAX_STACK_FRAMES = 25;
+    // A stall this long is reported without waiting for the main thread
+    private static final long ONGOING_REPORT_MS = 4_000;
+    private static final String APP_PACKAGE = "com.galaxy_mobile.";
+
+    private static final long MIN_REPORT_INTERVAL_MS = 60_000;
+    private static final int MAX_REPORTS_PER_SESSION = 20;
+
+    private static final Object lock = new Object();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static volatile long thresholdMs = DEFAULT_THRESHOLD_MS;
+    private static Thread thread;
+    // Set by start(), cleared by stop(); the lifecycle observer only runs the
+    // thread while enabled
+    private static boolean enabled;
+    private static LifecycleEventObserver lifecycleObserver;
+
+    // Written on the main thread by the ping, read by the watchdog thread
+    private static volatile long ackSeq;
+    private static volatile long ackUptimeMs;
+
+    // Watchdog thread only
+    private static long pingSeq;
+    private static long lastReportMs = -MIN_REPORT_INTERVAL_MS;
+    private static int reportCount;
+
+    private MainThreadWatchdog() {
+    }
+
+    /**
+     * Starts watching whenever the app is in the foreground. Call once startup
+     * is done: cold start blocks the main thread by design.
+     */
+    public static void start(long threshold) {
+        setThresholdMs(threshold);
+        synchronized (lock) {
+            enabled = true;
+        }
+        mainHandler.post(() -> {
+            if (lifecycleObserver != null) {
+                return;
+            }
+            lifecycleObserver = (source, event) -> {
+                if (event == Lifecycle.Event.ON_START) {
+                    startThread();
+                } else if (event == Lifecycle.Event.ON_STOP) {
+                    stopThread();
+                }
+            };
+            // Replays ON_START right away if the app is already in the foreground
+            ProcessLifecycleOwner.get().getLifecycle().addObserver(lifecycleObserver);
+        });
+        GxyLogger.i(TAG, "Watchdog enabled, threshold {} ms", thresholdMs);
+    }
+
+    /**
+     * Stops watching, e.g. before intentional main-thread sleeps on shutdown
+     */
+    public static void stop() {
+        synchronized (lock) {
+            enabled = false;
+        }
+        stopThread();
+        GxyLogger.i(TAG, "Watchdog disabled");
+    }
+
+    private static void startThread() {
+        synchronized (lock) {
+            if (!enabled || thread != null) {
+                return;
+            }
+            thread = new Thread(MainThreadWatchdog::loop, THREAD_NAME);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        GxyLogger.d(TAG, "Watchdog started, threshold {} ms", thresholdMs);
+    }
+
+    private static void stopThread() {
+        synchronized (lock) {
+            if (thread == null) {
+                return;
+            }
+            thread.interrupt();
+            thread = null;
+        }
+        GxyLogger.d(TAG, "Watchdog stopped");
+    }
+
+    public static void setThresholdMs(long threshold) {
+        thresholdMs = Math.max(MIN_THRESHOLD_MS, threshold);
+    }
+
+    private static void loop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long seq = ++pingSeq;
+                long postedMs = SystemClock.uptimeMillis();
+                mainHandler.post(() -> {
+                    // A ping of the previous thread may still be queued after a restart
+                    if (seq > ackSeq) {
+                        ackUptimeMs = SystemClock.uptimeMillis();
+                        ackSeq = seq;
+                    }
+                });
+
+                long threshold = thresholdMs;
+                Thread.sleep(threshold);
+                if (ackSeq >= seq) {
+                    continue;
+                }
+                onStall(seq, postedMs, threshold);
+            }
+        } catch (InterruptedException e) {
+            // stop()
+        }
+    }
+
+    private static void onStall(long seq, long postedMs, long threshold) throws InterruptedException {
+        Thread mainThread = Looper.getMainLooper().getThread();
+        long sampleInterval = Math.max(MIN_SAMPLE_INTERVAL_MS, threshold / 2);
+        List<StackTraceElement[]> samples = new ArrayList<>();
+        String reportedFrame = null;
+
+        while (ackSeq < seq) {
+            if (samples.size() < MAX_SAMPLES) {
+                samples.add(mainThread.getStackTrace());
+            }
+            long ongoingMs = SystemClock.uptimeMillis() - postedMs;
+            if (reportedFrame == null && (samples.size() >= MAX_SAMPLES || ongoingMs >= ONGOING_REPORT_MS)) {
+                // The process may not survive this stall
+                reportedFrame = report(samples, ongoingMs, threshold, true);
+            }
+            Thread.sleep(sampleInterval);
+        }
+
+        long stallMs = ackUptimeMs - postedMs;
+        MetricsRegistry.counter("main_thread.stalls").increment();
+        MetricsRegistry.histogram("main_thread.stall").recordMicros(stallMs * 1000);
+
+        if (reportedFrame != null) {
+            GxyLogger.i(TAG, "Main thread recovered after {} ms in {}", stallMs, reportedFrame);
+            return;
+        }
+        report(samples, stallMs, threshold, false);
+    }
+
+    /**
+     * @param ongoing true if the main thread is still stalled and stallMs is
+     *                its duration so far
+     * @return the hot frame, or null if nothing was sampled
+     */
+    private static String report(List<StackTraceElement[]> samples, long stallMs, long threshold,
+            boolean ongoing) {
+        if (Debug.isDebuggerConnected() || samples.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Integer> stacks = aggregate(samples);
+        String hottestStack = stacks.keySet().iterator().next();
+        String hotFrame = hotFrame(samples, hottestStack);
+        String message = (ongoing ? "Main thread stalled for over " : "Main thread stalled for ") + stallMs
+                + " ms in " + hotFrame;
+        GxyLogger.i(TAG, message);
+
+        long now = SystemClock.uptimeMillis();
+        if (now - lastReportMs < MIN_REPORT_INTERVAL_MS || reportCount >= MAX_REPORTS_PER_SESSION) {
+            MetricsRegistry.counter("main_thread.stalls_not_reported").increment();
+            return hotFrame;
+        }
+        lastReportMs = now;
+        reportCount++;
+
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : stacks.entrySet()) {
+            text.append(entry.getValue()).append('/').append(samples.size()).append(" samples:\n")
+                    .append(entry.getKey()).append('\n');
+        }
+
+        Map<String, String> extras = new HashMap<>();
+        extras.put("stall_ms", String.valueOf(stallMs));
+        extras.put("ongoing", String.valueOf(ongoing));
+        extras.put("threshold_ms", String.valueOf(threshold));
+        extras.put("samples", String.valueOf(samples.size()));
+        extras.put("stacks", text.toString());
+        SentryUtils.reportEvent(SentryLevel.WARNING, TAG, message,
+                Arrays.asList("main-thread-stall", hotFrame), extras);
+        return hotFrame;
+    }
+
+    /**
+     * @return distinct stacks with their sample counts, most frequent first
+     */
+    private static Map<String, Integer> aggregate(List<StackTraceElement[]> samples) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (StackTraceElement[] sample : samples) {
+            counts.merge(formatStack(sample), 1, Integer::sum);
+        }
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort((a, b) -> b.getValue() - a.getValue());
+
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : entries) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        return sorted;
+    }
+
+    private static String formatStack(StackTraceElement[] stack) {
+        StringBuilder text = new StringBuilder();
+        int frames = Math.min(stack.length, MAX_STACK_FRAMES);
+        for (int i = 0; i < frames; i++) {
+            text.append("  at ").append(stack[i]).append('\n');
+        }
+        if (stack.length > frames) {
+            text.append("  ... ").append(stack.length - frames).append(" more\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Top app frame of the hottest stack, or its top frame if no app code is
+     * on it
+     */
+    private static String hotFrame(List<StackTraceElement[]> samples, String hottestStack) {
+        for (StackTraceElement[] sample : samples) {
+            if (sample.length == 0 || !formatStack(sample).equals(hottestStack)) {
+                continue;
+            }
+            for (StackTraceElement frame : sample) {
+                if (frame.getClassName().startsWith(APP_PACKAGE)) {
+                    return frame.getClassName() + "." + frame.getMethodName();
+                }
+            }
+            return sample[0].getClassName() + "." + sample[0].getMethodName();
+        }
+        return "unknown";
+    }
+}
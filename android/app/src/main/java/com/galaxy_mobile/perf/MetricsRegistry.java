@@ -0,0 +1,84 @@
+package com.galaxy_mobile.perf;
+
+import android.os.SystemClock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide native metrics: counters, gauges and latency histograms.
+ *
+ * Metrics are created on first use and live for the whole process. Looking
+ * up an existing metric by name and recording into it does not allocate, so
+ * call sites can simply do:
+ *
+ * <pre>
+ * long start = System.nanoTime();
+ * ...
+ * MetricsRegistry.histogram("audio.set_communication_device").recordSince(start);
+ * </pre>
+ */
+public final class MetricsRegistry {
+    private static final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final long startUptimeMs = SystemClock.uptimeMillis();
+
+    private MetricsRegistry() {
+    }
+
+    public static Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(name, key -> new Counter());
+        }
+        return counter;
+    }
+
+    public static Gauge gauge(String name) {
+        Gauge gauge = gauges.get(name);
+        if (gauge == null) {
+            gauge = gauges.computeIfAbsent(name, key -> new Gauge());
+        }
+        return gauge;
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    /**
+     * Point-in-time copy of all metrics; values are doubles so the map can be
+     * passed to JS and Sentry as is
+     */
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> counterValues = new HashMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            counterValues.put(entry.getKey(), (double) entry.getValue().get());
+        }
+
+        Map<String, Object> gaugeValues = new HashMap<>();
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            gaugeValues.put(entry.getKey(), (double) entry.getValue().get());
+        }
+
+        Map<String, Object> histogramValues = new HashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                histogramValues.put(entry.getKey(), entry.getValue().snapshot());
+            }
+        }
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("uptimeMs", (double) (SystemClock.uptimeMillis() - startUptimeMs));
+        snapshot.put("counters", counterValues);
+        snapshot.put("gauges", gaugeValues);
+        snapshot.put("histograms", histogramValues);
+        return snapshot;
+    }
+}
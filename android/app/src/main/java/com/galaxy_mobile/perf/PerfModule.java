@@ -0,0 +1,189 @@
+package com.galaxy_mobile.perf;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.module.annotations.ReactModule;
+import com.galaxy_mobile.logger.GxyLogger;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exposes native performance metrics to JS
+ */
+@ReactModule(name = PerfModule.NAME)
+public class PerfModule extends ReactContextBaseJavaModule {
+    public static final String NAME = "PerfModule";
+    private static final String TAG = "PerfModule";
+
+    public PerfModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        GxyLogger.d(TAG, "PerfModule created");
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * @param promise resolves with { uptimeMs, counters, gauges, histograms },
+     *                histograms as { count, meanMs, p50Ms, p90Ms, p99Ms, maxMs }
+     */
+    @ReactMethod
+    public void getNativeMetrics(Promise promise) {
+        try {
+            promise.resolve(Arguments.makeNativeMap(MetricsRegistry.snapshot()));
+        } catch (Exception e) {
+            GxyLogger.e(TAG, "Error building metrics snapshot", e);
+            promise.reject("METRICS_ERROR", "Failed to get native metrics: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds a JS milestone (e.g. "js.bundle_loaded") to the startup timeline
+     */
+    @ReactMethod
+    public void markStartup(String name) {
+        StartupTracer.mark(name);
+    }
+
+    /**
+     * Marks the last startup milestone (e.g. "lobby.rendered") and reports
+     * the timeline to Sentry
+     *
+     * @param promise resolves with the timeline, see {@link StartupTracer#snapshot()}
+     */
+    @ReactMethod
+    public void finishStartup(String name, Promise promise) {
+        try {
+            StartupTracer.finish(name);
+            promise.resolve(Arguments.makeNativeMap(StartupTracer.snapshot()));
+        } catch (Exception e) {
+            GxyLogger.e(TAG, "Error finishing startup timeline", e);
+            promise.reject("STARTUP_ERROR", "Failed to finish startup timeline: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens a named trace (e.g. "room.join"); native steps reached until
+     * {@link #endTrace} attach to it as child spans
+     */
+    @ReactMethod
+    public void beginTrace(String name) {
+        TraceRegistry.begin(name);
+    }
+
+    /**
+     * Closes a trace and reports it to Sentry
+     *
+     * @param promise resolves with { name, durationMs, steps: [{ op, startMs, durationMs, thread }] },
+     *                or null if the trace was not open
+     */
+    @ReactMethod
+    public void endTrace(String name, boolean success, Promise promise) {
+        try {
+            Map<String, Object> summary = TraceRegistry.end(name, success);
+            promise.resolve(summary != null ? Arguments.makeNativeMap(summary) : null);
+        } catch (Exception e) {
+            GxyLogger.e(TAG, "Error ending trace " + name, e);
+            promise.reject("TRACE_ERROR", "Failed to end trace: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Starts frame-time monitoring; summaries arrive as
+     * {@link FrameJankMonitor#SUMMARY_EVENT} events
+     */
+    @ReactMethod
+    public void startFrameMonitor() {
+        FrameJankMonitor.start(getReactApplicationContext());
+    }
+
+    @ReactMethod
+    public void stopFrameMonitor() {
+        FrameJankMonitor.stop();
+    }
+
+    @ReactMethod
+    public void setFeedCount(int count) {
+        FrameJankMonitor.setFeedCount(count);
+    }
+
+    /**
+     * Main-thread delay that counts as a stall, see {@link MainThreadWatchdog}
+     */
+    @ReactMethod
+    public void setStallThreshold(int thresholdMs) {
+        MainThreadWatchdog.setThresholdMs(thresholdMs);
+    }
+
+    /**
+     * @param promise resolves with the sampler's ring buffer, oldest first, see
+     *                {@link ProcessSampler#snapshot()}
+     */
+    @ReactMethod
+    public void getProcessSamples(Promise promise) {
+        try {
+            promise.resolve(Arguments.makeNativeArray(ProcessSampler.snapshot()));
+        } catch (Exception e) {
+            GxyLogger.e(TAG, "Error building process samples", e);
+            promise.reject("SAMPLER_ERROR", "Failed to get process samples: " + e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void setProcessSamplingPeriod(int periodMs) {
+        ProcessSampler.start(periodMs);
+    }
+
+    /**
+     * Debug toggle for in-app trace recording; the recording is attached to
+     * the next sent log bundle
+     */
+    @ReactMethod
+    public void setTraceRecording(boolean enabled) {
+        GxyTrace.setRecording(enabled);
+        GxyLogger.i(TAG, "Trace recording {}", enabled ? "on" : "off");
+    }
+
+    /**
+     * @param eventNames events to probe, empty for all
+     */
+    @ReactMethod
+    public void enableEventProbe(ReadableArray eventNames) {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < eventNames.size(); i++) {
+            names.add(eventNames.getString(i));
+        }
+        EventLatencyProbe.enable(names);
+    }
+
+    @ReactMethod
+    public void disableEventProbe() {
+        EventLatencyProbe.disable();
+    }
+
+    @ReactMethod
+    public void ackEventProbe(int id, double receivedAtMs) {
+        EventLatencyProbe.ack(id, receivedAtMs);
+    }
+
+    @ReactMethod
+    public void getStartupTimeline(Promise promise) {
+        try {
+            promise.resolve(Arguments.makeNativeMap(StartupTracer.snapshot()));
+        } catch (Exception e) {
+            GxyLogger.e(TAG, "Error building startup timeline", e);
+            promise.reject("STARTUP_ERROR", "Failed to get startup timeline: " + e.getMessage(), e);
+        }
+    }
+}
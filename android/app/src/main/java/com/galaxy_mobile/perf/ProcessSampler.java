@@ -0,0 +1,283 @@
+package com.galaxy_mobile.perf;
+
+import android.os.Debug;
+import android.os.Process;
+import android.os.SystemClock;
+import android.system.Os;
+import android.system.OsConstants;
+
+import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.logger.LogBundleWriter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic process CPU, memory and per-thread CPU sampler.
+ *
+ * Reads /proc/self/stat and /proc/self/task/&lt;tid&gt;/stat, converts the
+ * utime + stime deltas into CPU % (100 = one core) and groups threads by name
+ * with digits folded to '#', so "pool-3-thread-1" and "pool-4-thread-2" add
+ * up. Memory comes from {@link Debug} and {@link Runtime}. The last
+ * {@link #CAPACITY} samples are kept in a ring buffer.
+ */
+public final class ProcessSampler {
+    private static final String TAG = "ProcessSampler";
+    private static final String THREAD_NAME = "GxyProcSampler";
+
+    public static final long DEFAULT_PERIOD_MS = 10_000;
+    private static final long MIN_PERIOD_MS = 1_000;
+    // 20 minutes at the default period
+    static final int CAPACITY = 120;
+    private static final int TOP_THREADS = 8;
+    // utime and stime, counted from the first field after the ")" of comm
+    private static final int UTIME_FIELD = 11;
+    private static final int STIME_FIELD = 12;
+
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Object lock = new Object();
+    private static final Sample[] samples = new Sample[CAPACITY];
+    private static int nextIndex;
+    private static int size;
+    private static ScheduledFuture<?> task;
+
+    // Sampler thread only
+    private static final long ticksPerSecond = clockTicksPerSecond();
+    private static long lastUptimeMs;
+    private static long lastProcessTicks = -1;
+    private static Map<Integer, Long> lastThreadTicks = new HashMap<>();
+
+    private ProcessSampler() {
+    }
+
+    private static final class Sample {
+        final long uptimeMs;
+        final double processCpu;
+        final long javaHeapUsed;
+        final long javaHeapMax;
+        final long nativeHeapAllocated;
+        final int threadCount;
+        // Thread name group -> CPU %, highest first
+        final List<Map.Entry<String, Double>> topThreads;
+
+        Sample(long uptimeMs, double processCpu, long javaHeapUsed, long javaHeapMax, long nativeHeapAllocated,
+                int threadCount, List<Map.Entry<String, Double>> topThreads) {
+            this.uptimeMs = uptimeMs;
+            this.processCpu = processCpu;
+            this.javaHeapUsed = javaHeapUsed;
+            this.javaHeapMax = javaHeapMax;
+            this.nativeHeapAllocated = nativeHeapAllocated;
+            this.threadCount = threadCount;
+            this.topThreads = topThreads;
+        }
+    }
+
+    public static void start(long periodMs) {
+        long period = Math.max(MIN_PERIOD_MS, periodMs);
+        synchronized (lock) {
+            if (task != null) {
+                task.cancel(false);
+            }
+            task = executor.scheduleWithFixedDelay(ProcessSampler::sampleSafely, 0, period, TimeUnit.MILLISECONDS);
+        }
+        GxyLogger.i(TAG, "Sampling every {} ms", period);
+    }
+
+    public static void stop() {
+        synchronized (lock) {
+            if (task != null) {
+                task.cancel(false);
+                task = null;
+            }
+        }
+        GxyLogger.i(TAG, "Sampling stopped");
+    }
+
+    /**
+     * @return samples oldest first, each { uptimeMs, processCpu, javaHeapUsedMb,
+     *         javaHeapMaxMb, nativeHeapMb, threadCount, threads: { name: cpu } }
+     */
+    public static List<Object> snapshot() {
+        List<Object> values = new ArrayList<>();
+        for (Sample sample : copySamples()) {
+            Map<String, Object> threads = new HashMap<>();
+            for (Map.Entry<String, Double> thread : sample.topThreads) {
+                threads.put(thread.getKey(), thread.getValue());
+            }
+            Map<String, Object> value = new HashMap<>();
+            value.put("uptimeMs", (double) sample.uptimeMs);
+            value.put("processCpu", sample.processCpu);
+            value.put("javaHeapUsedMb", toMb(sample.javaHeapUsed));
+            value.put("javaHeapMaxMb", toMb(sample.javaHeapMax));
+            value.put("nativeHeapMb", toMb(sample.nativeHeapAllocated));
+            value.put("threadCount", (double) sample.threadCount);
+            value.put("threads", threads);
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * Writes one line per sample, oldest first
+     *
+     * @return number of samples written
+     */
+    public static int writeTo(LogBundleWriter writer) throws IOException {
+        List<Sample> copy = copySamples();
+        for (Sample sample : copy) {
+            StringBuilder line = new StringBuilder();
+            line.append(String.format(Locale.US, "%8.1fs cpu %5.1f%% heap %.1f/%.1f MB native %.1f MB threads %d |",
+                    sample.uptimeMs / 1000.0, sample.processCpu, toMb(sample.javaHeapUsed),
+                    toMb(sample.javaHeapMax), toMb(sample.nativeHeapAllocated), sample.threadCount));
+            for (Map.Entry<String, Double> thread : sample.topThreads) {
+                line.append(String.format(Locale.US, " %s %.1f%%", thread.getKey(), thread.getValue()));
+            }
+            writer.writeLine(line.toString());
+        }
+        return copy.size();
+    }
+
+    private static List<Sample> copySamples() {
+        List<Sample> copy = new ArrayList<>();
+        synchronized (lock) {
+            int first = (nextIndex - size + CAPACITY) % CAPACITY;
+            for (int i = 0; i < size; i++) {
+                copy.add(samples[(first + i) % CAPACITY]);
+            }
+        }
+        return copy;
+    }
+
+    private static void sampleSafely() {
+        try {
+            sample();
+        } catch (Exception e) {
+            GxyLogger.e(TAG, "Error sampling process stats", e);
+        }
+    }
+
+    private static void sample() throws IOException {
+        long now = SystemClock.uptimeMillis();
+        long processTicks = readTicks(new File("/proc/self/stat"));
+
+        Map<Integer, Long> threadTicks = new HashMap<>();
+        Map<String, Long> groupTicks = new HashMap<>();
+        File[] tasks = new File("/proc/self/task").listFiles();
+        if (tasks != null) {
+            for (File task : tasks) {
+                try {
+                    String stat = readStat(new File(task, "stat"));
+                    int tid = Integer.parseInt(task.getName());
+                    long ticks = parseTicks(stat);
+                    threadTicks.put(tid, ticks);
+
+                    Long previous = lastThreadTicks.get(tid);
+                    // Threads started since the last sample count from zero
+                    long delta = ticks - (previous != null ? previous : 0);
+                    groupTicks.merge(threadGroup(stat), delta, Long::sum);
+                } catch (IOException | RuntimeException e) {
+                    // Thread exited while reading
+                }
+            }
+        }
+
+        boolean hasPrevious = lastProcessTicks >= 0;
+        double elapsedTicks = (now - lastUptimeMs) / 1000.0 * ticksPerSecond;
+        double processCpu = hasPrevious && elapsedTicks > 0 ? (processTicks - lastProcessTicks) * 100 / elapsedTicks : 0;
+
+        List<Map.Entry<String, Double>> topThreads = new ArrayList<>();
+        if (hasPrevious && elapsedTicks > 0) {
+            for (Map.Entry<String, Long> group : groupTicks.entrySet()) {
+                if (group.getValue() > 0) {
+                    topThreads.add(new AbstractMap.SimpleEntry<>(group.getKey(), group.getValue() * 100 / elapsedTicks));
+                }
+            }
+            topThreads.sort((a, b) -> Double.compare(b.getValue(), a.getValue()));
+            if (topThreads.size() > TOP_THREADS) {
+                topThreads = new ArrayList<>(topThreads.subList(0, TOP_THREADS));
+            }
+        }
+
+        lastUptimeMs = now;
+        lastProcessTicks = processTicks;
+        lastThreadTicks = threadTicks;
+        if (!hasPrevious) {
+            // CPU needs two readings
+            return;
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        Sample sample = new Sample(now, processCpu, runtime.totalMemory() - runtime.freeMemory(),
+                runtime.maxMemory(), Debug.getNativeHeapAllocatedSize(), threadTicks.size(), topThreads);
+        synchronized (lock) {
+            samples[nextIndex] = sample;
+            nextIndex = (nextIndex + 1) % CAPACITY;
+            size = Math.min(size + 1, CAPACITY);
+        }
+        MetricsRegistry.gauge("process.cpu_percent").set(Math.round(processCpu));
+        MetricsRegistry.gauge("process.threads").set(threadTicks.size());
+    }
+
+    private static long readTicks(File file) throws IOException {
+        return parseTicks(readStat(file));
+    }
+
+    private static String readStat(File file) throws IOException {
+        byte[] buffer = new byte[512];
+        int length = 0;
+        try (FileInputStream input = new FileInputStream(file)) {
+            int read;
+            while (length < buffer.length && (read = input.read(buffer, length, buffer.length - length)) > 0) {
+                length += read;
+            }
+        }
+        return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * utime + stime of a stat line; comm may contain spaces, so fields are
+     * counted from its closing parenthesis
+     */
+    static long parseTicks(String stat) {
+        String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+        return Long.parseLong(fields[UTIME_FIELD]) + Long.parseLong(fields[STIME_FIELD]);
+    }
+
+    static String threadGroup(String stat) {
+        String name = stat.substring(stat.indexOf('(') + 1, stat.lastIndexOf(')'));
+        return name.replaceAll("[0-9]+", "#");
+    }
+
+    private static long clockTicksPerSecond() {
+        try {
+            long ticks = Os.sysconf(OsConstants._SC_CLK_TCK);
+            return ticks > 0 ? ticks : 100;
+        } catch (Exception e) {
+            return 100;
+        }
+    }
+
+    private static double toMb(long bytes) {
+        return Math.round(bytes / 1024.0 / 102.4) / 10.0;
+    }
+}
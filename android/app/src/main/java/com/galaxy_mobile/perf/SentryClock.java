@@ -0,0 +1,23 @@
+package com.galaxy_mobile.perf;
+
+import io.sentry.SentryDate;
+import io.sentry.SentryNanotimeDate;
+
+import java.util.Date;
+
+/**
+ * Maps {@link System#nanoTime()} values recorded earlier to Sentry
+ * timestamps, anchored to the wall clock at construction time.
+ *
+ * Lets tracers record cheap monotonic timestamps on hot paths and build the
+ * Sentry spans later, off the calling thread.
+ */
+final class SentryClock {
+    private final long nowNanos = System.nanoTime();
+    private final long nowMillis = System.currentTimeMillis();
+
+    SentryDate at(long nanos) {
+        long millis = nowMillis - (nowNanos - nanos) / 1_000_000L;
+        return new SentryNanotimeDate(new Date(millis), nanos);
+    }
+}
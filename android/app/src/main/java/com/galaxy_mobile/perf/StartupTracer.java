@@ -0,0 +1,213 @@
+package com.galaxy_mobile.perf;
+
+import android.os.Process;
+
+import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.logger.SentryDispatcher;
+
+import io.sentry.ISpan;
+import io.sentry.ITransaction;
+import io.sentry.Instrumenter;
+import io.sentry.Sentry;
+import io.sentry.SpanStatus;
+import io.sentry.TransactionContext;
+import io.sentry.TransactionOptions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cold-start timeline: monotonic timestamps of startup milestones, measured
+ * from process start.
+ *
+ * Native code and JS add marks with {@link #mark(String)}; only the first
+ * occurrence of a name is kept, so an activity recreated later does not move
+ * its milestone. {@link #finish(String)} closes the timeline and reports it
+ * as one Sentry transaction with a child span per phase, where a phase runs
+ * from the previous mark to the next one.
+ */
+public final class StartupTracer {
+    private static final String TAG = "StartupTracer";
+
+    public static final String APP_CREATE_START = "app.create.start";
+    public static final String SOLOADER_LOADED = "soloader.loaded";
+    public static final String APP_CREATE_END = "app.create.end";
+    public static final String ACTIVITY_CREATE_START = "activity.create.start";
+    public static final String AUDIO_DEVICE_MODULE_CREATED = "audio_device_module.created";
+    public static final String ACTIVITY_CREATE_END = "activity.create.end";
+    public static final String REACT_CONTEXT_READY = "react_context.ready";
+    public static final String PERMISSIONS_CHECK_START = "permissions.check.start";
+    public static final String MODULES_INITIALIZED = "modules.initialized";
+
+    private static final long DEFAULT_BUDGET_MS = 4000;
+    // A longer gap means the process was started for something else (service,
+    // broadcast) and the activity came later: not a cold start
+    private static final long COLD_START_MAX_GAP_MS = 10_000;
+    private static final String TRANSACTION_NAME = "cold_start";
+    private static final String TRANSACTION_OP = "app.start.cold";
+    private static final String PHASE_OP = "startup.phase";
+
+    // Process.getStartUptimeMillis() and System.nanoTime() share CLOCK_MONOTONIC
+    private static final long processStartNanos = Process.getStartUptimeMillis() * 1_000_000L;
+
+    private static final Object lock = new Object();
+    private static final List<Mark> marks = new ArrayList<>();
+    private static volatile long budgetMs = DEFAULT_BUDGET_MS;
+    private static boolean finished;
+
+    private StartupTracer() {
+    }
+
+    private static final class Mark {
+        final String name;
+        final long nanos;
+        final String thread;
+
+        Mark(String name, long nanos, String thread) {
+            this.name = name;
+            this.nanos = nanos;
+            this.thread = thread;
+        }
+
+        double sinceStartMs() {
+            return (nanos - processStartNanos) / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Cold starts slower than this are logged and reported with
+     * DEADLINE_EXCEEDED status
+     */
+    public static void setBudgetMs(long budget) {
+        budgetMs = budget;
+    }
+
+    /**
+     * Records a milestone; ignored once the timeline is finished or if the
+     * name was already marked
+     */
+    public static void mark(String name) {
+        long now = System.nanoTime();
+        synchronized (lock) {
+            if (finished || indexOf(name) >= 0) {
+                return;
+            }
+            marks.add(new Mark(name, now, Thread.currentThread().getName()));
+        }
+    }
+
+    /**
+     * Marks the final milestone, closes the timeline and reports it
+     *
+     * @return false if the timeline was already finished
+     */
+    public static boolean finish(String name) {
+        mark(name);
+        List<Mark> timeline;
+        synchronized (lock) {
+            if (finished) {
+                return false;
+            }
+            finished = true;
+            timeline = new ArrayList<>(marks);
+        }
+
+        Mark last = timeline.get(timeline.size() - 1);
+        double totalMs = last.sinceStartMs();
+        boolean coldStart = isColdStart(timeline);
+        boolean overBudget = totalMs > budgetMs;
+        GxyLogger.i(TAG, "Startup finished at {} ms (budget {} ms, cold: {})", (long) totalMs, budgetMs, coldStart);
+        if (overBudget && coldStart) {
+            GxyLogger.w(TAG, "Cold start over budget: {} ms > {} ms", (long) totalMs, budgetMs);
+        }
+
+        if (coldStart) {
+            MetricsRegistry.histogram("startup.cold_start").recordNanos(last.nanos - processStartNanos);
+            SentryDispatcher.execute(() -> report(timeline, overBudget));
+        }
+        return true;
+    }
+
+    /**
+     * @return { processStartUptimeMs, totalMs, budgetMs, finished, marks: [{ name, sinceStartMs, thread }] }
+     */
+    public static Map<String, Object> snapshot() {
+        List<Mark> timeline;
+        boolean isFinished;
+        synchronized (lock) {
+            timeline = new ArrayList<>(marks);
+            isFinished = finished;
+        }
+
+        List<Object> markValues = new ArrayList<>();
+        for (Mark mark : timeline) {
+            Map<String, Object> value = new HashMap<>();
+            value.put("name", mark.name);
+            value.put("sinceStartMs", mark.sinceStartMs());
+            value.put("thread", mark.thread);
+            markValues.add(value);
+        }
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("processStartUptimeMs", (double) Process.getStartUptimeMillis());
+        snapshot.put("totalMs", timeline.isEmpty() ? 0.0 : timeline.get(timeline.size() - 1).sinceStartMs());
+        snapshot.put("budgetMs", (double) budgetMs);
+        snapshot.put("finished", isFinished);
+        snapshot.put("marks", markValues);
+        return snapshot;
+    }
+
+    private static int indexOf(String name) {
+        for (int i = 0; i < marks.size(); i++) {
+            if (marks.get(i).name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isColdStart(List<Mark> timeline) {
+        Long appCreated = null;
+        Long activityCreated = null;
+        for (Mark mark : timeline) {
+            if (APP_CREATE_START.equals(mark.name)) {
+                appCreated = mark.nanos;
+            } else if (ACTIVITY_CREATE_START.equals(mark.name)) {
+                activityCreated = mark.nanos;
+            }
+        }
+        return appCreated != null && activityCreated != null
+                && (activityCreated - appCreated) / 1_000_000L <= COLD_START_MAX_GAP_MS;
+    }
+
+    private static void report(List<Mark> timeline, boolean overBudget) {
+        try {
+            SentryClock clock = new SentryClock();
+
+            // Left to Sentry's tracesSampleRate, like every other transaction
+            TransactionContext context = new TransactionContext(TRANSACTION_NAME, TRANSACTION_OP);
+            TransactionOptions options = new TransactionOptions();
+            options.setBindToScope(false);
+            options.setStartTimestamp(clock.at(processStartNanos));
+            ITransaction transaction = Sentry.startTransaction(context, options);
+
+            long phaseStart = processStartNanos;
+            for (Mark mark : timeline) {
+                ISpan phase = transaction.startChild(PHASE_OP, mark.name,
+                        clock.at(phaseStart), Instrumenter.SENTRY);
+                phase.setData("thread", mark.thread);
+                phase.finish(SpanStatus.OK, clock.at(mark.nanos));
+                phaseStart = mark.nanos;
+            }
+
+            transaction.setMeasurement("cold_start_ms", (phaseStart - processStartNanos) / 1_000_000.0);
+            transaction.setTag("over_budget", String.valueOf(overBudget));
+            transaction.finish(overBudget ? SpanStatus.DEADLINE_EXCEEDED : SpanStatus.OK,
+                    clock.at(phaseStart));
+        } catch (Exception e) {
+            GxyLogger.e(TAG, "Error reporting startup transaction", e);
+        }
+    }
+}
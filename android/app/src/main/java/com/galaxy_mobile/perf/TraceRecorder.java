@@ -0,0 +1,176 @@
+package com.galaxy_mobile.perf;
+
+import android.os.Process;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory recorder for {@link GxyTrace} events, exported as Chrome trace
+ * JSON that Perfetto (ui.perfetto.dev) and chrome://tracing open directly.
+ *
+ * Events are stored in parallel arrays used as a ring buffer, so the most
+ * recent {@link #CAPACITY} events are kept and recording does not allocate
+ * per event. The arrays are allocated by the first {@link #clear()}, when
+ * recording is first enabled, so processes that never record do not pay for
+ * them.
+ */
+final class TraceRecorder {
+    static final byte PHASE_BEGIN = 'B';
+    static final byte PHASE_END = 'E';
+    static final byte PHASE_ASYNC_BEGIN = 'b';
+    static final byte PHASE_ASYNC_END = 'e';
+
+    static final int CAPACITY = 65_536;
+    private static final String CATEGORY = "gxy";
+
+    private static final Object lock = new Object();
+    // Null until recording is first enabled; guarded by lock
+    private static long[] timestamps;
+    private static byte[] phases;
+    private static String[] names;
+    private static int[] tids;
+    private static int[] cookies;
+    private static int nextIndex;
+    private static int size;
+    private static final ConcurrentHashMap<Integer, String> threadNames = new ConcurrentHashMap<>();
+
+    private TraceRecorder() {
+    }
+
+    static void record(byte phase, String name, int tid, int cookie) {
+        long now = System.nanoTime();
+        if (!threadNames.containsKey(tid)) {
+            threadNames.putIfAbsent(tid, Thread.currentThread().getName());
+        }
+        synchronized (lock) {
+            if (timestamps == null) {
+                return;
+            }
+            timestamps[nextIndex] = now;
+            phases[nextIndex] = phase;
+            names[nextIndex] = name;
+            tids[nextIndex] = tid;
+            cookies[nextIndex] = cookie;
+            nextIndex = (nextIndex + 1) % CAPACITY;
+            size = Math.min(size + 1, CAPACITY);
+        }
+    }
+
+    /**
+     * Drops recorded events, allocating the buffer on first use
+     */
+    static void clear() {
+        synchronized (lock) {
+            if (timestamps == null) {
+                timestamps = new long[CAPACITY];
+                phases = new byte[CAPACITY];
+                names = new String[CAPACITY];
+                tids = new int[CAPACITY];
+                cookies = new int[CAPACITY];
+            } else {
+                Arrays.fill(names, null);
+            }
+            nextIndex = 0;
+            size = 0;
+        }
+        threadNames.clear();
+    }
+
+    static int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+     * Writes the recorded events as a Chrome trace JSON object; the stream is
+     * flushed but not closed
+     *
+     * @return number of events written
+     */
+    static int writeChromeTrace(OutputStream output) throws IOException {
+        long[] eventTimestamps;
+        byte[] eventPhases;
+        String[] eventNames;
+        int[] eventTids;
+        int[] eventCookies;
+        int count;
+        synchronized (lock) {
+            count = size;
+            eventTimestamps = new long[count];
+            eventPhases = new byte[count];
+            eventNames = new String[count];
+            eventTids = new int[count];
+            eventCookies = new int[count];
+            int first = (nextIndex - size + CAPACITY) % CAPACITY;
+            for (int i = 0; i < count; i++) {
+                int index = (first + i) % CAPACITY;
+                eventTimestamps[i] = timestamps[index];
+                eventPhases[i] = phases[index];
+                eventNames[i] = names[index];
+                eventTids[i] = tids[index];
+                eventCookies[i] = cookies[index];
+            }
+        }
+
+        int pid = Process.myPid();
+        Map<Integer, String> threads = new HashMap<>(threadNames);
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+        boolean first = true;
+        for (Map.Entry<Integer, String> thread : threads.entrySet()) {
+            if (!first) {
+                writer.write(",\n");
+            }
+            first = false;
+            writer.write("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":" + pid + ",\"tid\":" + thread.getKey()
+                    + ",\"args\":{\"name\":\"" + escape(thread.getValue()) + "\"}}");
+        }
+        for (int i = 0; i < count; i++) {
+            if (!first) {
+                writer.write(",\n");
+            }
+            first = false;
+            writer.write("{\"ph\":\"");
+            writer.write((char) eventPhases[i]);
+            // Microseconds with nanosecond fraction
+            writer.write("\",\"ts\":" + eventTimestamps[i] / 1000 + "."
+                    + String.format(Locale.US, "%03d", eventTimestamps[i] % 1000)
+                    + ",\"pid\":" + pid + ",\"tid\":" + eventTids[i]);
+            if (eventNames[i] != null) {
+                writer.write(",\"name\":\"" + escape(eventNames[i]) + "\"");
+            }
+            if (eventPhases[i] == PHASE_ASYNC_BEGIN || eventPhases[i] == PHASE_ASYNC_END) {
+                writer.write(",\"cat\":\"" + CATEGORY + "\",\"id\":" + eventCookies[i]);
+            }
+            writer.write("}");
+        }
+        writer.write("\n]}\n");
+        writer.flush();
+        return count;
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format(Locale.US, "\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
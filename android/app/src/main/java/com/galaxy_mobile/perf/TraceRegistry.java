@@ -0,0 +1,252 @@
+package com.galaxy_mobile.perf;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.logger.SentryDispatcher;
+
+import io.sentry.ISpan;
+import io.sentry.ITransaction;
+import io.sentry.Instrumenter;
+import io.sentry.Sentry;
+import io.sentry.SpanStatus;
+import io.sentry.TransactionContext;
+import io.sentry.TransactionOptions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named traces opened and closed from JS (e.g. "room.join") that collect the
+ * native steps reached while they are open.
+ *
+ * Native code reports a finished step with {@link #step(String, long)}; it is
+ * attached to every open trace. Steps only record monotonic timestamps; the
+ * Sentry transaction with one child span per step is built when the trace is
+ * closed, on the Sentry thread. While no trace is open a step is a single
+ * volatile read.
+ *
+ * Traces left open longer than {@link #TRACE_TIMEOUT_MS} are expired by a
+ * check posted when they open, and by any begin, step or end that comes
+ * first.
+ */
+public final class TraceRegistry {
+    private static final String TAG = "TraceRegistry";
+
+    private static final int MAX_STEPS_PER_TRACE = 256;
+    // Traces JS never closed are finished as DEADLINE_EXCEEDED after this
+    private static final long TRACE_TIMEOUT_MS = 120_000;
+
+    private static final Object lock = new Object();
+    private static final Map<String, Trace> openTraces = new HashMap<>();
+    private static volatile boolean anyOpen;
+    private static final Handler timeoutHandler = new Handler(Looper.getMainLooper());
+    private static final Runnable expireStaleRunnable = TraceRegistry::expireStale;
+
+    private TraceRegistry() {
+    }
+
+    private static final class Step {
+        final String op;
+        final long startNanos;
+        final long endNanos;
+        final String thread;
+
+        Step(String op, long startNanos, long endNanos, String thread) {
+            this.op = op;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.thread = thread;
+        }
+    }
+
+    private static final class Trace {
+        final String name;
+        final long startNanos;
+        final LatencyHistogram histogram;
+        final List<Step> steps = new ArrayList<>();
+        int droppedSteps;
+
+        Trace(String name, long startNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.histogram = MetricsRegistry.histogram("trace." + name);
+        }
+    }
+
+    /**
+     * Opens a trace; an open trace with the same name is finished as
+     * CANCELLED first
+     */
+    public static void begin(String name) {
+        long now = System.nanoTime();
+        Trace previous;
+        List<Trace> stale;
+        synchronized (lock) {
+            stale = removeStale(now);
+            previous = openTraces.put(name, new Trace(name, now));
+            anyOpen = true;
+        }
+        reportStale(stale, now);
+        // Only a few traces open per session, one check each
+        timeoutHandler.postDelayed(expireStaleRunnable, TRACE_TIMEOUT_MS + 1_000);
+        if (previous != null) {
+            GxyLogger.w(TAG, "Trace {} restarted before it was closed", name);
+            report(previous, now, SpanStatus.CANCELLED);
+        }
+        GxyLogger.d(TAG, "Trace {} opened", name);
+    }
+
+    /**
+     * Attaches a finished native step to all open traces
+     *
+     * @param op         step name, e.g. "audio.request_focus"
+     * @param startNanos {@link System#nanoTime()} when the step started; it
+     *                   ends now
+     */
+    public static void step(String op, long startNanos) {
+        if (!anyOpen) {
+            return;
+        }
+        long now = System.nanoTime();
+        String thread = Thread.currentThread().getName();
+        List<Trace> stale;
+        synchronized (lock) {
+            stale = removeStale(now);
+            anyOpen = !openTraces.isEmpty();
+            for (Trace trace : openTraces.values()) {
+                if (trace.steps.size() < MAX_STEPS_PER_TRACE) {
+                    trace.steps.add(new Step(op, startNanos, now, thread));
+                } else {
+                    trace.droppedSteps++;
+                }
+            }
+        }
+        reportStale(stale, now);
+    }
+
+    /**
+     * Closes a trace and reports it to Sentry
+     *
+     * @return { name, durationMs, steps: [{ op, startMs, durationMs, thread }] }
+     *         with times relative to the trace start, or null if no such trace
+     *         is open
+     */
+    public static Map<String, Object> end(String name, boolean success) {
+        long now = System.nanoTime();
+        Trace trace;
+        List<Trace> stale;
+        synchronized (lock) {
+            // A timed out trace is reported as such, not closed late
+            stale = removeStale(now);
+            trace = openTraces.remove(name);
+            anyOpen = !openTraces.isEmpty();
+        }
+        reportStale(stale, now);
+        if (trace == null) {
+            GxyLogger.w(TAG, "Trace {} is not open", name);
+            return null;
+        }
+
+        trace.histogram.recordNanos(now - trace.startNanos);
+        GxyLogger.d(TAG, "Trace {} closed after {} ms with {} steps", name,
+                (now - trace.startNanos) / 1_000_000L, trace.steps.size());
+        report(trace, now, success ? SpanStatus.OK : SpanStatus.UNKNOWN_ERROR);
+        return summary(trace, now);
+    }
+
+    private static void expireStale() {
+        long now = System.nanoTime();
+        List<Trace> stale;
+        synchronized (lock) {
+            stale = removeStale(now);
+            anyOpen = !openTraces.isEmpty();
+        }
+        reportStale(stale, now);
+    }
+
+    /**
+     * Removes traces open longer than {@link #TRACE_TIMEOUT_MS}; caller holds
+     * the lock
+     *
+     * @return the removed traces, or null if none
+     */
+    private static List<Trace> removeStale(long now) {
+        List<Trace> stale = null;
+        Iterator<Trace> iterator = openTraces.values().iterator();
+        while (iterator.hasNext()) {
+            Trace trace = iterator.next();
+            if ((now - trace.startNanos) / 1_000_000L > TRACE_TIMEOUT_MS) {
+                iterator.remove();
+                if (stale == null) {
+                    stale = new ArrayList<>();
+                }
+                stale.add(trace);
+            }
+        }
+        return stale;
+    }
+
+    private static void reportStale(List<Trace> stale, long now) {
+        if (stale == null) {
+            return;
+        }
+        for (Trace trace : stale) {
+            GxyLogger.w(TAG, "Trace {} timed out", trace.name);
+            report(trace, now, SpanStatus.DEADLINE_EXCEEDED);
+        }
+    }
+
+    private static Map<String, Object> summary(Trace trace, long endNanos) {
+        List<Object> stepValues = new ArrayList<>();
+        for (Step step : trace.steps) {
+            Map<String, Object> value = new HashMap<>();
+            value.put("op", step.op);
+            value.put("startMs", (step.startNanos - trace.startNanos) / 1_000_000.0);
+            value.put("durationMs", (step.endNanos - step.startNanos) / 1_000_000.0);
+            value.put("thread", step.thread);
+            stepValues.add(value);
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("name", trace.name);
+        summary.put("durationMs", (endNanos - trace.startNanos) / 1_000_000.0);
+        summary.put("steps", stepValues);
+        return summary;
+    }
+
+    // Steps are no longer added once the trace is removed from openTraces
+    private static void report(Trace trace, long endNanos, SpanStatus status) {
+        SentryDispatcher.execute(() -> {
+            try {
+                SentryClock clock = new SentryClock();
+
+                // Left to Sentry's tracesSampleRate; the summary returned to JS
+                // and the trace histogram do not depend on it
+                TransactionContext context = new TransactionContext(trace.name, trace.name);
+                TransactionOptions options = new TransactionOptions();
+                options.setBindToScope(false);
+                options.setStartTimestamp(clock.at(trace.startNanos));
+                ITransaction transaction = Sentry.startTransaction(context, options);
+
+                for (Step step : trace.steps) {
+                    ISpan span = transaction.startChild(step.op, step.op, clock.at(step.startNanos),
+                            Instrumenter.SENTRY);
+                    span.setData("thread", step.thread);
+                    span.finish(SpanStatus.OK, clock.at(step.endNanos));
+                }
+
+                if (trace.droppedSteps > 0) {
+                    transaction.setData("dropped_steps", trace.droppedSteps);
+                }
+                transaction.finish(status, clock.at(endNanos));
+            } catch (Exception e) {
+                GxyLogger.e(TAG, "Error reporting trace " + trace.name, e);
+            }
+        });
+    }
+}
@@ -6,6 +6,7 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.galaxy_mobile.callManager.CallListenerModule;
 import com.galaxy_mobile.callManager.PhoneCallListener;
 import com.galaxy_mobile.audioManager.AudioDeviceModule;
+import com.galaxy_mobile.perf.StartupTracer;
 import com.galaxy_mobile.permissions.PermissionsModule;
 
 public class ModuleInitializer {
@@ -25,6 +26,7 @@ public class ModuleInitializer {
         initializePermissionsModule();
 
         GxyLogger.d(TAG, "All modules initialization completed");
+        StartupTracer.mark(StartupTracer.MODULES_INITIALIZED);
     }
 
     private void initializeCallListenerModule() {
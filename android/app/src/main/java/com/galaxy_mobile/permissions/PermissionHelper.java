@@ -9,6 +9,7 @@ import android.os.Build;
 import android.provider.Settings;
 import android.util.Log;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.GxyTrace;
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AlertDialog;
@@ -18,6 +19,7 @@ import androidx.core.content.ContextCompat;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.galaxy_mobile.SendEventToClient;
+import com.galaxy_mobile.perf.StartupTracer;
 import com.facebook.react.bridge.ReactApplicationContext;
 
 import java.util.ArrayList;
@@ -49,10 +51,16 @@ public class PermissionHelper {
     }
 
     public void initModules(ReactApplicationContext reactContext) {
-        GxyLogger.d(TAG, "Initializing modules with reactContext");
-        this.reactContext = reactContext;
-        this.moduleInitializer = new ModuleInitializer(reactContext);
-        checkPermissions();
+        GxyTrace.begin("PermissionHelper.initModules");
+        try {
+            GxyLogger.d(TAG, "Initializing modules with reactContext");
+            this.reactContext = reactContext;
+            this.moduleInitializer = new ModuleInitializer(reactContext);
+            StartupTracer.mark(StartupTracer.PERMISSIONS_CHECK_START);
+            checkPermissions();
+        } finally {
+            GxyTrace.end();
+        }
     }
 
     private String[] getUngrantedPermissions() {
@@ -98,15 +106,20 @@ public class PermissionHelper {
     }
 
     public void checkPermissions() {
-        String[] ungrantedPermissions = getUngrantedPermissions();
-        if (ungrantedPermissions.length > 0) {
-            String permission = ungrantedPermissions[0];
-            GxyLogger.d(TAG, "Checking permission: " + permission);
-            requestPermission(permission);
-        } else {
-            GxyLogger.d(TAG, "All permissions already granted.");
-            permissionsReady = true;
-            notifyClientAllPermissionsGranted();
+        GxyTrace.begin("PermissionHelper.checkPermissions");
+        try {
+            String[] ungrantedPermissions = getUngrantedPermissions();
+            if (ungrantedPermissions.length > 0) {
+                String permission = ungrantedPermissions[0];
+                GxyLogger.d(TAG, "Checking permission: " + permission);
+                requestPermission(permission);
+            } else {
+                GxyLogger.d(TAG, "All permissions already granted.");
+                permissionsReady = true;
+                notifyClientAllPermissionsGranted();
+            }
+        } finally {
+            GxyTrace.end();
         }
     }
 
@@ -172,34 +185,44 @@ public class PermissionHelper {
     }
 
     public void onActivityResult(int requestCode, int resultCode, Intent data) {
-        GxyLogger.d(TAG, "Returned from settings, checking permissions requestCode=" + requestCode + " resultCode="
-                + resultCode + " data=" + data);
-        if (requestCode == SETTINGS_REQUEST_CODE) {
-            GxyLogger.d(TAG, "Returned from settings, checking permissions");
-            checkPermissions();
+        GxyTrace.begin("PermissionHelper.onActivityResult");
+        try {
+            GxyLogger.d(TAG, "Returned from settings, checking permissions requestCode=" + requestCode + " resultCode="
+                    + resultCode + " data=" + data);
+            if (requestCode == SETTINGS_REQUEST_CODE) {
+                GxyLogger.d(TAG, "Returned from settings, checking permissions");
+                checkPermissions();
+            }
+        } finally {
+            GxyTrace.end();
         }
     }
 
     public void handlePermissionResult(int requestCode, String[] permissions, int[] grantResults) {
-        GxyLogger.d(TAG, "handlePermissionResult: requestCode=" + requestCode + ", permissions="
-                + java.util.Arrays.toString(permissions) + ", grantResults=" + java.util.Arrays.toString(grantResults));
-
-        String currentPermission = permissions[0];
-        if (grantResults[0] == PackageManager.PERMISSION_DENIED) {
-            GxyLogger.d(TAG, "Permission denied: " + currentPermission);
-            GxyLogger.d(TAG, "Will show permission denied dialog for: " + currentPermission);
-            boolean shouldShow = ActivityCompat.shouldShowRequestPermissionRationale(activity, currentPermission);
-            if (!shouldShow) {
-                showPermissionPermanentlyDeniedDialog(currentPermission);
+        GxyTrace.begin("PermissionHelper.handlePermissionResult");
+        try {
+            GxyLogger.d(TAG, "handlePermissionResult: requestCode=" + requestCode + ", permissions="
+                    + java.util.Arrays.toString(permissions) + ", grantResults=" + java.util.Arrays.toString(grantResults));
+
+            String currentPermission = permissions[0];
+            if (grantResults[0] == PackageManager.PERMISSION_DENIED) {
+                GxyLogger.d(TAG, "Permission denied: " + currentPermission);
+                GxyLogger.d(TAG, "Will show permission denied dialog for: " + currentPermission);
+                boolean shouldShow = ActivityCompat.shouldShowRequestPermissionRationale(activity, currentPermission);
+                if (!shouldShow) {
+                    showPermissionPermanentlyDeniedDialog(currentPermission);
+                } else {
+                    showPermissionDeniedDialog(currentPermission);
+                }
+
             } else {
-                showPermissionDeniedDialog(currentPermission);
+                GxyLogger.d(TAG, "Permission granted: " + currentPermission);
+                GxyLogger.d(TAG, "Continuing to check next permissions");
+                // Continue checking the next permissions from scratch
+                checkPermissions();
             }
-
-        } else {
-            GxyLogger.d(TAG, "Permission granted: " + currentPermission);
-            GxyLogger.d(TAG, "Continuing to check next permissions");
-            // Continue checking the next permissions from scratch
-            checkPermissions();
+        } finally {
+            GxyTrace.end();
         }
     }
 
@@ -6,12 +6,12 @@ import androidx.annotation.Nullable;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
-import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
 import android.util.Log;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.MetricsRegistry;
 import com.galaxy_mobile.SendEventToClient;
 
 /**
@@ -23,7 +23,7 @@ public class PermissionsModule extends ReactContextBaseJavaModule {
     public static final String NAME = "PermissionsModule";
     private static final String TAG = "PermissionsModule";
     private final ReactApplicationContext reactContext;
-    private static boolean isInitialized = false;
+    private static volatile boolean isInitialized = false;
 
     public PermissionsModule(ReactApplicationContext reactContext) {
         super(reactContext);
@@ -46,10 +46,14 @@ public class PermissionsModule extends ReactContextBaseJavaModule {
         }
     }
 
-    @ReactMethod
-    public void getPermissionStatus(Promise promise) {
+    /**
+     * Synchronous: a static field read does not need a bridge round trip
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public boolean getPermissionStatus() {
+        MetricsRegistry.counter("PermissionsModule.getPermissionStatus").increment();
         GxyLogger.d(TAG, "Getting permission status: " + PermissionsModule.isInitialized);
-        promise.resolve(PermissionsModule.isInitialized);
+        return PermissionsModule.isInitialized;
     }
 
     @NonNull
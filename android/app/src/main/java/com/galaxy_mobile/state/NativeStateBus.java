@@ -0,0 +1,135 @@
+package com.galaxy_mobile.state;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.galaxy_mobile.SendEventToClient;
+import com.galaxy_mobile.callManager.CallStateType;
+import com.galaxy_mobile.logger.GxyLogger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-process publish/subscribe state shared between native components.
+ *
+ * Native surfaces (notification, PiP actions) subscribe here directly and
+ * redraw only when a value they show changes. JS publishes its confirmed
+ * state through GxyUIStateModule.updateUIState, once the tracks actually
+ * changed. Native actions that JS carries out (notification and PiP taps, a
+ * phone call starting) publish their expected state right away with
+ * {@link #publishOptimistic}; it is rolled back unless JS confirms it within
+ * {@link #CONFIRM_TIMEOUT_MS}. While a JS listener is registered
+ * ({@link #setJsListening}), native changes are also sent to JS as
+ * {@link #STATE_EVENT} events.
+ */
+public final class NativeStateBus {
+    private static final String TAG = "NativeStateBus";
+
+    public static final String STATE_EVENT = "nativeStateChanged";
+
+    public static final String SOURCE_JS = "js";
+    public static final String SOURCE_NOTIFICATION = "notification";
+    public static final String SOURCE_SYSTEM = "system";
+
+    // Mute and leave-room round trips through JS take well below this
+    private static final long CONFIRM_TIMEOUT_MS = 5_000;
+
+    public static final StateTopic<Boolean> MIC_ON = new StateTopic<>("micOn", false);
+    public static final StateTopic<Boolean> CAM_MUTED = new StateTopic<>("camMuted", false);
+    public static final StateTopic<Boolean> IN_ROOM = new StateTopic<>("inRoom", false);
+    public static final StateTopic<String> ROOM_NAME = new StateTopic<>("room", "Not in room");
+    public static final StateTopic<CallStateType> CALL_STATE = new StateTopic<>("callState", CallStateType.UNKNOWN);
+    public static final StateTopic<Boolean> PIP_MODE = new StateTopic<>("pipMode", false);
+
+    private static final List<StateTopic<?>> TOPICS = Arrays.asList(
+            MIC_ON, CAM_MUTED, IN_ROOM, ROOM_NAME, CALL_STATE, PIP_MODE);
+
+    // One forwarding listener per topic, in TOPICS order; subscribed only while JS listens
+    private static final List<StateTopic.Listener<Object>> jsListeners = createJsListeners();
+    private static boolean jsListening;
+    private static final Handler rollbackHandler = new Handler(Looper.getMainLooper());
+
+    static {
+        // JS leaves the room when a phone call starts, and the call takes the
+        // microphone: show both at once instead of after the round trip
+        CALL_STATE.subscribe((state, source) -> {
+            if (state == CallStateType.ON_START_CALL && IN_ROOM.get()) {
+                publishOptimistic(MIC_ON, false, SOURCE_SYSTEM);
+                publishOptimistic(IN_ROOM, false, SOURCE_SYSTEM);
+            }
+        });
+    }
+
+    private NativeStateBus() {
+    }
+
+    /**
+     * Publishes the state a native action is expected to lead to, before JS
+     * carried it out; JS confirms it (or the actual state) through
+     * updateUIState, otherwise it is rolled back after
+     * {@link #CONFIRM_TIMEOUT_MS}
+     */
+    public static <T> void publishOptimistic(StateTopic<T> topic, T value, String source) {
+        long token = topic.publishPending(value, source);
+        if (token == 0) {
+            return;
+        }
+        rollbackHandler.postDelayed(() -> {
+            if (topic.rollback(token, SOURCE_SYSTEM)) {
+                GxyLogger.w(TAG, "{} = {} not confirmed by JS within {} ms, rolled back", topic.getName(),
+                        value, CONFIRM_TIMEOUT_MS);
+            }
+        }, CONFIRM_TIMEOUT_MS);
+    }
+
+    /**
+     * Makes JS one more subscriber, or removes it: while listening, every
+     * change not published by JS itself is sent as a {@link #STATE_EVENT}
+     * { topic, value, source } event
+     */
+    public static synchronized void setJsListening(boolean listening) {
+        if (jsListening == listening) {
+            return;
+        }
+        jsListening = listening;
+        for (int i = 0; i < TOPICS.size(); i++) {
+            if (listening) {
+                TOPICS.get(i).subscribe(jsListeners.get(i));
+            } else {
+                TOPICS.get(i).unsubscribe(jsListeners.get(i));
+            }
+        }
+    }
+
+    private static List<StateTopic.Listener<Object>> createJsListeners() {
+        List<StateTopic.Listener<Object>> listeners = new ArrayList<>(TOPICS.size());
+        for (StateTopic<?> topic : TOPICS) {
+            listeners.add((value, source) -> {
+                if (SOURCE_JS.equals(source)) {
+                    return;
+                }
+                // Listeners run outside the topic lock, so concurrent publishes
+                // can notify out of order: send the current value, not the
+                // notified one, so the last event JS gets is the latest value
+                sendToJs(topic.getName(), topic.get(), source);
+            });
+        }
+        return listeners;
+    }
+
+    private static void sendToJs(String topicName, Object value, String source) {
+        WritableMap params = Arguments.createMap();
+        params.putString("topic", topicName);
+        if (value instanceof Boolean) {
+            params.putBoolean("value", (Boolean) value);
+        } else {
+            params.putString("value", String.valueOf(value));
+        }
+        params.putString("source", source);
+        SendEventToClient.sendEvent(STATE_EVENT, params);
+    }
+}
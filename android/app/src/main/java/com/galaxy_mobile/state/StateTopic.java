@@ -0,0 +1,130 @@
+package com.galaxy_mobile.state;
+
+import com.galaxy_mobile.logger.GxyLogger;
+
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One typed value of {@link NativeStateBus} with its subscribers.
+ *
+ * Listeners are called synchronously on the publishing thread, only when the
+ * value actually changes; listeners that touch UI post to the main thread
+ * themselves.
+ *
+ * A value is either confirmed ({@link #publish}) or pending
+ * ({@link #publishPending}): a pending value is shown right away but goes
+ * back to the last confirmed one on {@link #rollback}, unless a confirmed
+ * publish came first.
+ */
+public final class StateTopic<T> {
+    private static final String TAG = "StateTopic";
+
+    public interface Listener<T> {
+        /**
+         * @param source who published the value, e.g. {@link NativeStateBus#SOURCE_JS}
+         */
+        void onChanged(T value, String source);
+    }
+
+    private final String name;
+    private final CopyOnWriteArrayList<Listener<? super T>> listeners = new CopyOnWriteArrayList<>();
+    private volatile T value;
+    // Guarded by this
+    private T confirmedValue;
+    private long pendingToken;
+    private long lastToken;
+
+    StateTopic(String name, T initialValue) {
+        this.name = name;
+        this.value = initialValue;
+        this.confirmedValue = initialValue;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Publishes a confirmed value; a pending value is confirmed or replaced
+     *
+     * @return true if the value changed and listeners were notified
+     */
+    public boolean publish(T newValue, String source) {
+        synchronized (this) {
+            confirmedValue = newValue;
+            pendingToken = 0;
+            if (Objects.equals(value, newValue)) {
+                return false;
+            }
+            value = newValue;
+        }
+        notifyListeners(newValue, source);
+        return true;
+    }
+
+    /**
+     * Publishes a value that still has to be confirmed by {@link #publish}
+     *
+     * @return token for {@link #rollback}, or 0 if the value did not change
+     */
+    public long publishPending(T newValue, String source) {
+        long token;
+        synchronized (this) {
+            if (Objects.equals(value, newValue)) {
+                return 0;
+            }
+            value = newValue;
+            token = ++lastToken;
+            pendingToken = token;
+        }
+        notifyListeners(newValue, source);
+        return token;
+    }
+
+    /**
+     * Goes back to the last confirmed value if the pending value of this
+     * token is still current
+     *
+     * @return true if the value was rolled back
+     */
+    public boolean rollback(long token, String source) {
+        T restored;
+        synchronized (this) {
+            if (token == 0 || pendingToken != token) {
+                return false;
+            }
+            pendingToken = 0;
+            if (Objects.equals(value, confirmedValue)) {
+                return false;
+            }
+            value = confirmedValue;
+            restored = confirmedValue;
+        }
+        notifyListeners(restored, source);
+        return true;
+    }
+
+    private void notifyListeners(T newValue, String source) {
+        GxyLogger.d(TAG, "{} = {} from {}", name, newValue, source);
+        for (Listener<? super T> listener : listeners) {
+            try {
+                listener.onChanged(newValue, source);
+            } catch (Exception e) {
+                GxyLogger.e(TAG, "Error in listener of " + name, e);
+            }
+        }
+    }
+
+    public void subscribe(Listener<? super T> listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void unsubscribe(Listener<? super T> listener) {
+        listeners.remove(listener);
+    }
+}
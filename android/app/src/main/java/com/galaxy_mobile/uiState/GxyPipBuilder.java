@@ -15,7 +15,8 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.galaxy_mobile.R;
 import com.galaxy_mobile.uiState.UIApdateReceiver;
 import com.galaxy_mobile.logger.GxyLogger;
-import com.galaxy_mobile.uiState.GxyUIStateModule;
+import com.galaxy_mobile.perf.GxyTrace;
+import com.galaxy_mobile.state.NativeStateBus;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -36,12 +37,15 @@ public class GxyPipBuilder {
             return;
         }
 
+        int traceCookie = GxyTrace.beginAsync("pip.build");
         activity.runOnUiThread(() -> {
             try {
                 PictureInPictureParams params = buildParams();
                 activity.setPictureInPictureParams(params);
             } catch (Exception e) {
                 GxyLogger.e(TAG, "build failed", e);
+            } finally {
+                GxyTrace.endAsync("pip.build", traceCookie);
             }
         });
     }
@@ -74,8 +78,9 @@ public class GxyPipBuilder {
         String title = "Mute";
         int flags = PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE;
 
-        GxyLogger.d(TAG, "buildMuteAction: isMicOn: " + GxyUIStateModule.isMicOn);
-        if (GxyUIStateModule.isMicOn) {
+        boolean isMicOn = NativeStateBus.MIC_ON.get();
+        GxyLogger.d(TAG, "buildMuteAction: isMicOn: " + isMicOn);
+        if (isMicOn) {
             icon = Icon.createWithResource(context, R.drawable.mic_24px);
         } else {
             requestCode = 2;
@@ -96,8 +101,9 @@ public class GxyPipBuilder {
         Icon icon = null;
         String title = "Camera Off";
 
-        GxyLogger.d(TAG, "buildCamMuteAction: isCammute: " + GxyUIStateModule.isCammute);
-        if (GxyUIStateModule.isCammute) {
+        boolean isCammute = NativeStateBus.CAM_MUTED.get();
+        GxyLogger.d(TAG, "buildCamMuteAction: isCammute: " + isCammute);
+        if (isCammute) {
             requestCode = 2;
             title = "Camera On";
             action = UIApdateReceiver.ACTION_CAM_UNMUTE;
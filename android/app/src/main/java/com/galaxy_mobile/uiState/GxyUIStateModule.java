@@ -9,6 +9,9 @@ import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.perf.GxyTrace;
+import com.galaxy_mobile.perf.MetricsRegistry;
+import com.galaxy_mobile.perf.TraceRegistry;
 import android.view.WindowManager;
 
 import com.facebook.react.ReactInstanceManager;
@@ -23,12 +26,20 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 
 import com.galaxy_mobile.MainApplication;
+import com.galaxy_mobile.SendEventToClient;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.module.annotations.ReactModule;
 
 import com.galaxy_mobile.uiState.GxyPipBuilder;
 import com.galaxy_mobile.foreground.ForegroundService;
+import com.galaxy_mobile.state.NativeStateBus;
+import com.galaxy_mobile.state.StateTopic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @ReactModule(name = GxyUIStateModule.NAME)
 public class GxyUIStateModule extends ReactContextBaseJavaModule {
@@ -39,14 +50,18 @@ public class GxyUIStateModule extends ReactContextBaseJavaModule {
     private Handler mainHandler;
     private LifecycleEventObserver lifecycleObserver;
     public static boolean isForeground = true;
-    public static boolean isMicOn = false;
-    public static boolean isInRoom = false;
-    public static String room = "Not in room";
-    public static boolean isCammute = false;
+
+    // Rebuilds PiP actions when the state they show changes, from JS or natively
+    private final StateTopic.Listener<Boolean> pipStateListener = (value, source) -> schedulePipUpdate();
+    // Coalesces the changes of one updateUIState call into one rebuild
+    private final AtomicBoolean pipUpdatePending = new AtomicBoolean();
 
     public GxyUIStateModule(ReactApplicationContext reactContext) {
         super(reactContext);
         GxyLogger.d(TAG, "GxyUIStateModule constructor called");
+        NativeStateBus.MIC_ON.subscribe(pipStateListener);
+        NativeStateBus.CAM_MUTED.subscribe(pipStateListener);
+        NativeStateBus.IN_ROOM.subscribe(pipStateListener);
     }
 
     @NonNull
@@ -81,6 +96,11 @@ public class GxyUIStateModule extends ReactContextBaseJavaModule {
     @Override
     public void invalidate() {
         super.invalidate();
+        NativeStateBus.MIC_ON.unsubscribe(pipStateListener);
+        NativeStateBus.CAM_MUTED.unsubscribe(pipStateListener);
+        NativeStateBus.IN_ROOM.unsubscribe(pipStateListener);
+        // The listeners of this JS instance are gone
+        NativeStateBus.setJsListening(false);
 
         // Remove lifecycle observer
         if (lifecycleObserver != null) {
@@ -125,82 +145,147 @@ public class GxyUIStateModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void startForeground(Promise promise) {
-        GxyLogger.d(TAG, "startForeground");
-        initLifecycleObserver();
-        isForeground = true;
-        startService();
-        promise.resolve(true);
+        GxyTrace.begin("GxyUIStateModule.startForeground");
+        try {
+            MetricsRegistry.counter("GxyUIStateModule.startForeground").increment();
+            GxyLogger.d(TAG, "startForeground");
+            long start = System.nanoTime();
+            initLifecycleObserver();
+            isForeground = true;
+            startService();
+            TraceRegistry.step("ui.start_foreground", start);
+            promise.resolve(true);
+        } finally {
+            GxyTrace.end();
+        }
     }
 
     @ReactMethod
     public void stopForeground(Promise promise) {
-        GxyLogger.d(TAG, "stopForeground");
+        GxyTrace.begin("GxyUIStateModule.stopForeground");
+        try {
+            MetricsRegistry.counter("GxyUIStateModule.stopForeground").increment();
+            GxyLogger.d(TAG, "stopForeground");
+
+            if (!ForegroundService.isRunning) {
+                GxyLogger.d(TAG, "Skipping stopForeground");
+                promise.resolve(true);
+                return;
+            }
 
-        if (!ForegroundService.isRunning) {
-            GxyLogger.d(TAG, "Skipping stopForeground");
-            promise.resolve(true);
-            return;
-        }
+            Activity activity = getCurrentActivity();
+            if (activity == null) {
+                GxyLogger.d(TAG, "activity is null, skipping stopForeground");
+                promise.resolve(true);
+                return;
+            }
+            Intent intent = new Intent(activity, ForegroundService.class);
+            intent.setAction(ForegroundService.STOP_SERVICE_ACTION);
+            activity.startForegroundService(intent);
 
-        Activity activity = getCurrentActivity();
-        if (activity == null) {
-            GxyLogger.d(TAG, "activity is null, skipping stopForeground");
+            GxyLogger.d(TAG, "stopForeground completed");
             promise.resolve(true);
-            return;
+        } finally {
+            GxyTrace.end();
         }
-        Intent intent = new Intent(activity, ForegroundService.class);
-        intent.setAction(ForegroundService.STOP_SERVICE_ACTION);
-        activity.startForegroundService(intent);
-        
-        GxyLogger.d(TAG, "stopForeground completed");
-        promise.resolve(true);
     }
 
     @ReactMethod
     public void updateUIState(boolean isMicOn, boolean isInRoom, String room, boolean isCammute) {
-        GxyLogger.d(TAG, "updateUIState: isMicOn: " + isMicOn + " isInRoom: " + isInRoom + " room: " + room
-                + " isCammute: " + isCammute);
-        boolean needPIPUpdate = (isMicOn != GxyUIStateModule.isMicOn) || (isInRoom != GxyUIStateModule.isInRoom)
-                || (isCammute != GxyUIStateModule.isCammute);
-
-        boolean needForegroundUpdate = (isMicOn != GxyUIStateModule.isMicOn) || (isInRoom != GxyUIStateModule.isInRoom)
-                || !room.equals(GxyUIStateModule.room);
-
-        GxyLogger.d(TAG, "needPIPUpdate: " + needPIPUpdate + " needForegroundUpdate: " + needForegroundUpdate);
+        GxyTrace.begin("GxyUIStateModule.updateUIState");
+        try {
+            MetricsRegistry.counter("GxyUIStateModule.updateUIState").increment();
+            long start = System.nanoTime();
+            GxyLogger.d(TAG, "updateUIState: isMicOn: " + isMicOn + " isInRoom: " + isInRoom + " room: " + room
+                    + " isCammute: " + isCammute);
+            // Subscribers (notification, PiP) update themselves on changes
+            boolean micChanged = NativeStateBus.MIC_ON.publish(isMicOn, NativeStateBus.SOURCE_JS);
+            boolean roomChanged = NativeStateBus.IN_ROOM.publish(isInRoom, NativeStateBus.SOURCE_JS);
+            boolean roomNameChanged = NativeStateBus.ROOM_NAME.publish(room, NativeStateBus.SOURCE_JS);
+            NativeStateBus.CAM_MUTED.publish(isCammute, NativeStateBus.SOURCE_JS);
+
+            boolean needForegroundUpdate = micChanged || roomChanged || roomNameChanged;
+            GxyLogger.d(TAG, "needForegroundUpdate: " + needForegroundUpdate);
+            if (needForegroundUpdate && !ForegroundService.isRunning) {
+                startService();
+            }
+            TraceRegistry.step("ui.update_state", start);
+        } finally {
+            GxyTrace.end();
+        }
+    }
 
-        GxyUIStateModule.isMicOn = isMicOn;
-        GxyUIStateModule.isInRoom = isInRoom;
-        GxyUIStateModule.room = room;
-        GxyUIStateModule.isCammute = isCammute;
+    /**
+     * Sends native state changes to JS as NativeStateBus.STATE_EVENT events
+     * while a JS listener is registered; off by default
+     */
+    @ReactMethod
+    public void setNativeStateListening(boolean listening) {
+        NativeStateBus.setJsListening(listening);
+    }
 
-        if (needForegroundUpdate) {
-            startService();
+    /**
+     * Called by JS as it registers event listeners; native events with these
+     * names are held until then, see SendEventToClient
+     */
+    @ReactMethod
+    public void markEventsReady(ReadableArray eventNames) {
+        List<String> names = new ArrayList<>(eventNames.size());
+        for (int i = 0; i < eventNames.size(); i++) {
+            names.add(eventNames.getString(i));
         }
+        SendEventToClient.markJsReady(getReactApplicationContext(), names);
+    }
 
-        if (needPIPUpdate) {
-            Activity activity = getCurrentActivity();
-            if (activity == null) {
-                GxyLogger.d(TAG, "activity is null, skipping PIP update");
-                return;
-            }
-
+    @ReactMethod
+    public void activatePip(Promise promise) {
+        GxyTrace.begin("GxyUIStateModule.activatePip");
+        try {
+            MetricsRegistry.counter("GxyUIStateModule.activatePip").increment();
+            GxyLogger.d(TAG, "activatePip");
             GxyPipBuilder pipBuilder = new GxyPipBuilder(getReactApplicationContext());
             pipBuilder.build();
+            promise.resolve(true);
+        } finally {
+            GxyTrace.end();
         }
     }
 
-    @ReactMethod
-    public void activatePip(Promise promise) {
-        GxyLogger.d(TAG, "activatePip");
-        GxyPipBuilder pipBuilder = new GxyPipBuilder(getReactApplicationContext());
-        pipBuilder.build();
-        promise.resolve(true);
+    private void schedulePipUpdate() {
+        if (!pipUpdatePending.compareAndSet(false, true)) {
+            return;
+        }
+        new Handler(Looper.getMainLooper()).post(() -> {
+            pipUpdatePending.set(false);
+            if (getCurrentActivity() == null) {
+                GxyLogger.d(TAG, "activity is null, skipping PIP update");
+                return;
+            }
+            new GxyPipBuilder(getReactApplicationContext()).build();
+        });
     }
 
     private void startService() {
-        GxyLogger.d(TAG, "startService");
-        Intent intent = new Intent(getCurrentActivity(), ForegroundService.class);
-        intent.setAction(ForegroundService.START_SERVICE_ACTION);
-        getCurrentActivity().startForegroundService(intent);
+        GxyTrace.begin("GxyUIStateModule.startService");
+        try {
+            GxyLogger.d(TAG, "startService");
+            Intent intent = new Intent(getCurrentActivity(), ForegroundService.class);
+            intent.setAction(ForegroundService.START_SERVICE_ACTION);
+            long start = System.nanoTime();
+            intent.putExtra(ForegroundService.EXTRA_REQUESTED_AT_NANOS, start);
+            int traceCookie = GxyTrace.beginAsync(ForegroundService.START_TRACE_SECTION);
+            intent.putExtra(ForegroundService.EXTRA_TRACE_COOKIE, traceCookie);
+            try {
+                getCurrentActivity().startForegroundService(intent);
+            } catch (RuntimeException e) {
+                // The service will not start, so it will not end the section
+                GxyTrace.endAsync(ForegroundService.START_TRACE_SECTION, traceCookie);
+                throw e;
+            }
+            MetricsRegistry.histogram("service.start_foreground").recordSince(start);
+            TraceRegistry.step("service.start_requested", start);
+        } finally {
+            GxyTrace.end();
+        }
     }
 }
\ No newline at end of file
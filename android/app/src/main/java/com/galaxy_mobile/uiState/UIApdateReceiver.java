@@ -9,6 +9,7 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.galaxy_mobile.SendEventToClient;
 import com.galaxy_mobile.logger.GxyLogger;
+import com.galaxy_mobile.state.NativeStateBus;
 
 public class UIApdateReceiver extends BroadcastReceiver {
   private static final String TAG = "UIApdateReceiver";
@@ -33,15 +34,21 @@ public class UIApdateReceiver extends BroadcastReceiver {
       params.putString("action", "leave_room");
       SendEventToClient.sendEvent(PLAYER_EVENT, params);
     } else if (ACTION_MUTE.equals(action)) {
+      // Shown at once; JS confirms once the track changed (updateUIState),
+      // otherwise the bus rolls it back
+      NativeStateBus.publishOptimistic(NativeStateBus.MIC_ON, false, NativeStateBus.SOURCE_NOTIFICATION);
       params.putString("action", "mute");
       SendEventToClient.sendEvent(PLAYER_EVENT, params);
     } else if (ACTION_UNMUTE.equals(action)) {
+      NativeStateBus.publishOptimistic(NativeStateBus.MIC_ON, true, NativeStateBus.SOURCE_NOTIFICATION);
       params.putString("action", "unmute");
       SendEventToClient.sendEvent(PLAYER_EVENT, params);
     } else if (ACTION_CAM_MUTE.equals(action)) {
+      NativeStateBus.publishOptimistic(NativeStateBus.CAM_MUTED, true, NativeStateBus.SOURCE_NOTIFICATION);
       params.putString("action", "cam_mute");
       SendEventToClient.sendEvent(PLAYER_EVENT, params);
     } else if (ACTION_CAM_UNMUTE.equals(action)) {
+      NativeStateBus.publishOptimistic(NativeStateBus.CAM_MUTED, false, NativeStateBus.SOURCE_NOTIFICATION);
       params.putString("action", "cam_unmute");
       SendEventToClient.sendEvent(PLAYER_EVENT, params);
     } else if (Intent.ACTION_SCREEN_OFF.equals(action)) {
@@ -0,0 +1,83 @@
+package com.galaxy_mobile.logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.TimeZone;
+
+public class LogEncoderTest {
+    // 2024-01-02 03:04:05.006 UTC
+    private static final long TIME_MILLIS = 1704164645006L;
+    private static final StackTraceElement CALLER =
+            new StackTraceElement("com.galaxy_mobile.Foo", "bar", "Foo.java", 42);
+
+    private TimeZone defaultTimeZone;
+
+    @Before
+    public void setUp() {
+        defaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    public void encodesLineWithCaller() {
+        LogEncoder encoder = new LogEncoder();
+
+        encoder.encode(TIME_MILLIS, "main", CALLER, "hello");
+
+        assertEquals("[03:04:05.006] [Thread:main] [Foo.bar:42] hello", encoder.toString());
+    }
+
+    @Test
+    public void encodesLineWithoutCaller() {
+        LogEncoder encoder = new LogEncoder();
+
+        encoder.encode(TIME_MILLIS + 1000, "worker", null, new StringBuilder("sb"));
+
+        assertEquals("[03:04:06.006] [Thread:worker] sb", encoder.toString());
+    }
+
+    @Test
+    public void replacesPreviousContent() {
+        LogEncoder encoder = new LogEncoder();
+
+        encoder.encode(TIME_MILLIS, "main", null, "a much longer first message");
+        encoder.encode(TIME_MILLIS, "main", null, "b");
+
+        assertEquals("[03:04:05.006] [Thread:main] b", encoder.toString());
+        assertEquals('b', encoder.charAt(encoder.length() - 1));
+    }
+
+    @Test
+    public void encodingDoesNotAllocateOnceWarm() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        LogEncoder encoder = new LogEncoder();
+        String message = "Audio device changed to bluetooth";
+
+        // Grows the buffer, caches the class name and the second prefix
+        for (int i = 0; i < 1_000; i++) {
+            encoder.encode(TIME_MILLIS + i % 1000, "main", CALLER, message);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            encoder.encode(TIME_MILLIS + i % 1000, "main", CALLER, message);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // Allows for the measurement itself, not for anything per line
+        assertTrue("allocated " + allocated + " bytes for 10000 lines", allocated < 1024);
+    }
+}
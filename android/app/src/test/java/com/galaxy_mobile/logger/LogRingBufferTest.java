@@ -0,0 +1,74 @@
+package com.galaxy_mobile.logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LogRingBufferTest {
+
+    private static boolean offer(LogRingBuffer buffer, int level, String message) {
+        return buffer.offer(level, "Tag", message, null, 0L, "main", null);
+    }
+
+    @Test
+    public void pollsInPublicationOrder() {
+        LogRingBuffer buffer = new LogRingBuffer(16, LogOverflowPolicy.DROP_OLDEST);
+        offer(buffer, GxyLogger.INFO, "first");
+        offer(buffer, GxyLogger.INFO, "second");
+
+        LogRecord record = new LogRecord();
+        assertTrue(buffer.poll(record));
+        assertEquals("first", record.message);
+        assertTrue(buffer.poll(record));
+        assertEquals("second", record.message);
+        assertFalse(buffer.poll(record));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void dropOldestEvictsOldestWhenFull() {
+        LogRingBuffer buffer = new LogRingBuffer(16, LogOverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(offer(buffer, GxyLogger.INFO, "line " + i));
+        }
+
+        assertEquals(4, buffer.getDroppedOldest());
+        LogRecord record = new LogRecord();
+        assertTrue(buffer.poll(record));
+        assertEquals("line 4", record.message);
+    }
+
+    @Test
+    public void dropDebugFirstKeepsRoomForInfo() {
+        LogRingBuffer buffer = new LogRingBuffer(16, LogOverflowPolicy.DROP_DEBUG_FIRST);
+        // Debug records are rejected from three quarters full
+        for (int i = 0; i < 12; i++) {
+            assertTrue(offer(buffer, GxyLogger.INFO, "info " + i));
+        }
+        assertFalse(offer(buffer, GxyLogger.DEBUG, "debug"));
+        assertTrue(offer(buffer, GxyLogger.INFO, "info 12"));
+
+        assertEquals(1, buffer.getDroppedDebug());
+        assertEquals(0, buffer.getDroppedOldest());
+        assertEquals(13, buffer.size());
+    }
+
+    @Test
+    public void countsOfferedAndTakenRecords() {
+        LogRingBuffer buffer = new LogRingBuffer(16, LogOverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 20; i++) {
+            offer(buffer, GxyLogger.INFO, "line " + i);
+        }
+        assertEquals(20, buffer.offeredCount());
+        // Evicted records count as taken
+        assertEquals(4, buffer.takenCount());
+
+        LogRecord record = new LogRecord();
+        while (buffer.poll(record)) {
+            // drain
+        }
+        assertEquals(20, buffer.takenCount());
+    }
+}
@@ -6,8 +6,10 @@ import { baseStyles } from '../constants';
 import { BottomBarLevel0 } from '../roomMenuLevel0/BottomBarLevel0';
 import { TopBar } from '../roomMenuLevel0/TopBar';
 import MenuLevel1 from '../roomMenuLevel1/MenuLevel1';
+import PerfBridge from '../services/PerfBridge';
 import logger from '../services/logger';
 import ShidurPip from '../shidur/ShidurPip';
+import { useFeedsStore } from '../zustand/feeds';
 import { useInRoomStore } from '../zustand/inRoom';
 import { useSettingsStore } from '../zustand/settings';
 import ForegroundListener from './ForegroundListener';
@@ -17,6 +19,7 @@ const Room = () => {
   const insets = useSafeAreaInsets();
   const { exitRoom } = useInRoomStore();
   const isPIPMode = useSettingsStore(state => state.isPIPMode);
+  const debugMode = useSettingsStore(state => state.debugMode);
 
   useEffect(() => {
     return () => {
@@ -24,6 +27,25 @@ const Room = () => {
     };
   }, []);
 
+  // Frame monitoring costs a vsync callback per frame: debug builds and debug mode only
+  useEffect(() => {
+    if (!__DEV__ && !debugMode) {
+      return;
+    }
+
+    PerfBridge.setFeedCount(useFeedsStore.getState().feedIds.length);
+    PerfBridge.startFrameMonitor();
+    const unsubscribe = useFeedsStore.subscribe((state, prevState) => {
+      if (state.feedIds.length !== prevState.feedIds.length) {
+        PerfBridge.setFeedCount(state.feedIds.length);
+      }
+    });
+    return () => {
+      unsubscribe();
+      PerfBridge.stopFrameMonitor();
+    };
+  }, [debugMode]);
+
   if (isPIPMode) {
     logger.debug('Room', 'render ShidurPip');
     return <ShidurPip />;
@@ -9,6 +9,12 @@ import logger from './logger';
 
 const NAMESPACE = 'AudioBridge';
 
+/**
+ * Payload of the Android 'updateAudioDevice' event: one entry per device group
+ * @typedef {{ type: string, priority: string, id: number, active: boolean }} AudioDeviceInfo
+ * @typedef {{ [group: string]: AudioDeviceInfo, replayAgeMs?: number }} AudioDeviceUpdateEvent
+ */
+
 // Find the appropriate native module based on platform
 let NativeAudio = null;
 if (Platform.OS === 'ios') {
@@ -20,8 +26,9 @@ if (Platform.OS === 'ios') {
   );
   logger.debug(NAMESPACE, 'NativeAudio on iOS:', NativeAudio);
 } else if (Platform.OS === 'android') {
+  // Native modules are created lazily; reading all of NativeModules would create them all
   NativeAudio = NativeModules.AudioDeviceModule;
-  logger.debug(NAMESPACE, 'NativeModules on Android:', NativeModules);
+  logger.debug(NAMESPACE, 'NativeAudio on Android:', !!NativeAudio);
 }
 
 const AudioBridge = {
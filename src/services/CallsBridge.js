@@ -8,6 +8,14 @@ import logger from './logger';
 
 const NAMESPACE = 'CallsBridge';
 
+/**
+ * Payload of the 'onCallStateChanged' event
+ * @typedef {{
+ *   state: 'ON_START_CALL' | 'ON_END_CALL' | 'ON_RINGING' | 'ON_OFFHOOK' | 'UNKNOWN',
+ *   replayAgeMs?: number,
+ * }} CallStateEvent
+ */
+
 let NativeCall = null;
 try {
   if (Platform.OS === 'ios') {
@@ -1,12 +1,35 @@
-import { NativeModules } from 'react-native';
+import { DeviceEventEmitter, NativeModules, Platform } from 'react-native';
 import { useRoomStore } from '../zustand/fetchRooms';
 import { useInRoomStore } from '../zustand/inRoom';
 import { useMyStreamStore } from '../zustand/myStream';
 import logger from './logger';
 
 const NAMESPACE = 'GxyUIStateBridge';
+const NATIVE_STATE_EVENT = 'nativeStateChanged';
+
+/**
+ * Change published on the native state bus by a native source
+ * (notification or PiP action, call state, PiP mode). Notification and call
+ * changes are optimistic: native rolls them back (source 'system') unless
+ * updateUIState confirms them within a few seconds
+ * @typedef {{
+ *   topic: 'micOn' | 'camMuted' | 'inRoom' | 'room' | 'callState' | 'pipMode',
+ *   value: boolean | string,
+ *   source: 'notification' | 'system',
+ * }} NativeStateEvent
+ */
 
 const NativeGxyUIState = NativeModules.GxyUIStateModule;
+// Native only sends state changes while at least one listener is registered
+let nativeStateListenerCount = 0;
+
+const setNativeStateListening = listening => {
+  if (NativeGxyUIState && NativeGxyUIState.setNativeStateListening) {
+    NativeGxyUIState.setNativeStateListening(listening);
+  } else {
+    logger.warn(NAMESPACE, 'setNativeStateListening is not available');
+  }
+};
 const collectData = () => {
   const isMicOn = !useMyStreamStore.getState().mute;
   const isInRoom = useInRoomStore.getState().isInRoom;
@@ -44,6 +67,20 @@ const GxyUIStateBridge = {
     }
   },
 
+  // Native holds each event until its name is marked ready: call right after
+  // adding the listeners, so events sent earlier are not emitted to no one
+  // (Android only, iOS emits directly)
+  markEventsReady: eventNames => {
+    if (Platform.OS !== 'android') {
+      return;
+    }
+    if (NativeGxyUIState && NativeGxyUIState.markEventsReady) {
+      NativeGxyUIState.markEventsReady(eventNames);
+    } else {
+      logger.warn(NAMESPACE, 'markEventsReady is not available');
+    }
+  },
+
   activatePip: async () => {
     if (NativeGxyUIState && NativeGxyUIState.activatePip) {
       return await NativeGxyUIState.activatePip();
@@ -52,6 +89,31 @@ const GxyUIStateBridge = {
       return false;
     }
   },
+  // listener receives a NativeStateEvent; changes published by JS itself
+  // through updateUIState are not echoed back.
+  // Returns a subscription; call remove() on it when done
+  onNativeStateChanged: listener => {
+    const subscription = DeviceEventEmitter.addListener(NATIVE_STATE_EVENT, listener);
+    GxyUIStateBridge.markEventsReady([NATIVE_STATE_EVENT]);
+    if (nativeStateListenerCount++ === 0) {
+      setNativeStateListening(true);
+    }
+
+    let removed = false;
+    return {
+      remove: () => {
+        if (removed) {
+          return;
+        }
+        removed = true;
+        subscription.remove();
+        if (--nativeStateListenerCount === 0) {
+          setNativeStateListening(false);
+        }
+      },
+    };
+  },
+
   raw: NativeGxyUIState,
 };
 
@@ -0,0 +1,216 @@
+import { DeviceEventEmitter, NativeModules } from 'react-native';
+import GxyUIStateBridge from './GxyUIStateBridge';
+import logger from './logger';
+
+const NAMESPACE = 'PerfBridge';
+const FRAME_JANK_SUMMARY_EVENT = 'frameJankSummary';
+const EVENT_PROBE_EVENT = 'gxyEventProbe';
+
+let eventProbeSubscription = null;
+
+let NativePerf = null;
+NativePerf = NativeModules.PerfModule;
+
+const PerfBridge = {
+  // Resolves with { uptimeMs, counters, gauges, histograms }
+  // histograms: { [name]: { count, meanMs, p50Ms, p90Ms, p99Ms, maxMs } }
+  getNativeMetrics: async () => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return null;
+    }
+
+    try {
+      return await NativePerf.getNativeMetrics();
+    } catch (error) {
+      logger.error(NAMESPACE, 'Error getting native metrics', error);
+      return null;
+    }
+  },
+
+  // Adds a JS milestone to the native cold-start timeline, e.g. 'js.bundle_loaded'
+  markStartup: name => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return;
+    }
+
+    NativePerf.markStartup(name);
+  },
+
+  // Closes the cold-start timeline with a final milestone, e.g. 'lobby.rendered',
+  // and reports it to Sentry. Resolves with
+  // { processStartUptimeMs, totalMs, budgetMs, finished, marks: [{ name, sinceStartMs, thread }] }
+  finishStartup: async name => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return null;
+    }
+
+    try {
+      return await NativePerf.finishStartup(name);
+    } catch (error) {
+      logger.error(NAMESPACE, 'Error finishing startup timeline', error);
+      return null;
+    }
+  },
+
+  // Opens a named native trace, e.g. 'room.join'; native steps reached until
+  // endTrace are attached to it
+  beginTrace: name => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return;
+    }
+
+    NativePerf.beginTrace(name);
+  },
+
+  // Closes the trace and reports it to Sentry. Resolves with
+  // { name, durationMs, steps: [{ op, startMs, durationMs, thread }] }
+  endTrace: async (name, success = true) => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return null;
+    }
+
+    try {
+      return await NativePerf.endTrace(name, success);
+    } catch (error) {
+      logger.error(NAMESPACE, 'Error ending trace', error);
+      return null;
+    }
+  },
+
+  // Frame-time monitoring; costs a vsync callback per frame while running
+  startFrameMonitor: () => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return;
+    }
+
+    NativePerf.startFrameMonitor();
+  },
+
+  stopFrameMonitor: () => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return;
+    }
+
+    NativePerf.stopFrameMonitor();
+  },
+
+  setFeedCount: count => {
+    if (!NativePerf) {
+      return;
+    }
+
+    NativePerf.setFeedCount(count);
+  },
+
+  // listener receives { state, feedCount, windowMs, count, meanMs, p50Ms, p90Ms, p99Ms, maxMs,
+  // refreshRate, jank, over32ms, over100ms, model }; state: lobby | room | pip
+  // jank: frames longer than 1.5 display refresh intervals
+  // Returns a subscription; call remove() on it when done
+  onFrameJankSummary: listener => {
+    const subscription = DeviceEventEmitter.addListener(
+      FRAME_JANK_SUMMARY_EVENT,
+      listener
+    );
+    GxyUIStateBridge.markEventsReady([FRAME_JANK_SUMMARY_EVENT]);
+    return subscription;
+  },
+
+  // Main-thread delay reported as a stall by the native watchdog (default 500 ms)
+  setStallThreshold: thresholdMs => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return;
+    }
+
+    NativePerf.setStallThreshold(thresholdMs);
+  },
+
+  // Resolves with the native process sampler's ring buffer, oldest first:
+  // [{ uptimeMs, processCpu, javaHeapUsedMb, javaHeapMaxMb, nativeHeapMb, threadCount,
+  //    threads: { [name]: cpu } }], CPU in % of one core
+  getProcessSamples: async () => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return null;
+    }
+
+    try {
+      return await NativePerf.getProcessSamples();
+    } catch (error) {
+      logger.error(NAMESPACE, 'Error getting process samples', error);
+      return null;
+    }
+  },
+
+  setProcessSamplingPeriod: periodMs => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return;
+    }
+
+    NativePerf.setProcessSamplingPeriod(periodMs);
+  },
+
+  // Acknowledges native event probes so native can record per-event
+  // "event.delivery.<name>" and "event.rtt.<name>" histograms (see getNativeMetrics).
+  // eventNames: events to probe, empty for all. Diagnostics only: every probed
+  // event costs an extra emit and a bridge call back
+  startEventLatencyProbe: (eventNames = []) => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return;
+    }
+
+    if (!eventProbeSubscription) {
+      eventProbeSubscription = DeviceEventEmitter.addListener(
+        EVENT_PROBE_EVENT,
+        probe => NativePerf.ackEventProbe(probe.id, Date.now())
+      );
+    }
+    NativePerf.enableEventProbe(eventNames);
+  },
+
+  stopEventLatencyProbe: () => {
+    if (!NativePerf || !eventProbeSubscription) {
+      return;
+    }
+
+    NativePerf.disableEventProbe();
+    eventProbeSubscription.remove();
+    eventProbeSubscription = null;
+  },
+
+  // Debug only: records native trace sections, attached to the next sent logs
+  // as native-trace.json.gz (open in ui.perfetto.dev)
+  setTraceRecording: enabled => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return;
+    }
+
+    NativePerf.setTraceRecording(enabled);
+  },
+
+  getStartupTimeline: async () => {
+    if (!NativePerf) {
+      logger.error(NAMESPACE, 'NativePerf is not available');
+      return null;
+    }
+
+    try {
+      return await NativePerf.getStartupTimeline();
+    } catch (error) {
+      logger.error(NAMESPACE, 'Error getting startup timeline', error);
+      return null;
+    }
+  },
+};
+
+export default PerfBridge;
@@ -1,7 +1,9 @@
-import { NativeModules } from 'react-native';
+import { DeviceEventEmitter, NativeModules } from 'react-native';
+import GxyUIStateBridge from './GxyUIStateBridge';
 import logger from './logger';
 
 const NAMESPACE = 'SendLogsBridge';
+const SEND_LOGS_PROGRESS_EVENT = 'sendLogsProgress';
 
 let NativeSendLogs = null;
 NativeSendLogs = NativeModules.SendLogsModule;
@@ -19,6 +21,77 @@ const SendLogsBridge = {
       logger.error(NAMESPACE, 'Error sending logs', error);
     }
   },
+
+  cancelSendLogs: async () => {
+    if (!NativeSendLogs) {
+      logger.error(NAMESPACE, 'NativeSendLogs is not available');
+      return false;
+    }
+
+    try {
+      return await NativeSendLogs.cancelSendLogs();
+    } catch (error) {
+      logger.error(NAMESPACE, 'Error cancelling send logs', error);
+      return false;
+    }
+  },
+
+  // listener receives { stage, bytesCollected, bytesCompressed, bytesUploaded, totalBytes }
+  // stage: collecting | uploading | done | pending | failed | cancelled | timeout
+  // pending: the upload did not finish in time and is still queued
+  // Returns a subscription; call remove() on it when done
+  onSendLogsProgress: listener => {
+    const subscription = DeviceEventEmitter.addListener(
+      SEND_LOGS_PROGRESS_EVENT,
+      listener
+    );
+    GxyUIStateBridge.markEventsReady([SEND_LOGS_PROGRESS_EVENT]);
+    return subscription;
+  },
+
+  // levels: { global: 'WARN', tags: { AudioDeviceModule: 'DEBUG' } }
+  // VERBOSE | DEBUG | INFO | WARN | ERROR | OFF, persisted on the device
+  setLogLevels: async levels => {
+    if (!NativeSendLogs) {
+      logger.error(NAMESPACE, 'NativeSendLogs is not available');
+      return null;
+    }
+
+    try {
+      return await NativeSendLogs.setLogLevels(levels);
+    } catch (error) {
+      logger.error(NAMESPACE, 'Error setting log levels', error);
+      return null;
+    }
+  },
+
+  getLogLevels: async () => {
+    if (!NativeSendLogs) {
+      logger.error(NAMESPACE, 'NativeSendLogs is not available');
+      return null;
+    }
+
+    try {
+      return await NativeSendLogs.getLogLevels();
+    } catch (error) {
+      logger.error(NAMESPACE, 'Error getting log levels', error);
+      return null;
+    }
+  },
+
+  resetLogLevels: async () => {
+    if (!NativeSendLogs) {
+      logger.error(NAMESPACE, 'NativeSendLogs is not available');
+      return null;
+    }
+
+    try {
+      return await NativeSendLogs.resetLogLevels();
+    } catch (error) {
+      logger.error(NAMESPACE, 'Error resetting log levels', error);
+      return null;
+    }
+  },
 };
 
 export default SendLogsBridge;
@@ -2,6 +2,7 @@ import * as React from 'react';
 import { View } from 'react-native';
 import MqttConnectionModal from '../components/ConnectionStatus/MqttConnectionModal';
 import { baseStyles } from '../constants';
+import PerfBridge from '../services/PerfBridge';
 import logger from '../services/logger';
 import { useInitsStore } from '../zustand/inits';
 import { SettingsNotJoinedLandscape } from './SettingsNotJoinedLandscape';
@@ -12,6 +13,11 @@ export const SettingsNotJoined = () => {
   logger.debug(NAMESPACE, 'SettingsNotJoined');
   const { isPortrait } = useInitsStore();
 
+  React.useEffect(() => {
+    // Last cold-start milestone; ignored natively after the first call
+    PerfBridge.finishStartup('lobby.rendered');
+  }, []);
+
   const content = isPortrait ? (
     <SettingsNotJoinedPortrait />
   ) : (
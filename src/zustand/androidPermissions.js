@@ -1,12 +1,18 @@
 import { DeviceEventEmitter, NativeModules } from 'react-native';
 import { create } from 'zustand';
+import GxyUIStateBridge from '../services/GxyUIStateBridge';
 import logger from '../services/logger';
 
 const NAMESPACE = 'androidPermissions';
+const PERMISSIONS_STATUS_EVENT = 'permissionsStatus';
 
-logger.debug(NAMESPACE, 'NativeModules on Android:', NativeModules);
 const permissionsModule = NativeModules.PermissionsModule;
 
+/**
+ * Payload of the 'permissionsStatus' event
+ * @typedef {{ allGranted: boolean, replayAgeMs?: number }} PermissionsStatusEvent
+ */
+
 let subscription;
 
 export const useAndroidPermissionsStore = create((set, get) => ({
@@ -26,7 +32,8 @@ export const useAndroidPermissionsStore = create((set, get) => ({
       subscription = null;
     }
 
-    const permReady = await permissionsModule.getPermissionStatus();
+    // Synchronous native method
+    const permReady = permissionsModule.getPermissionStatus();
     logger.info(NAMESPACE, 'Permission status:', permReady);
 
     if (permReady) {
@@ -38,7 +45,7 @@ export const useAndroidPermissionsStore = create((set, get) => ({
     try {
       logger.debug(NAMESPACE, 'Setting up permissions status listener');
       subscription = DeviceEventEmitter.addListener(
-        'permissionsStatus',
+        PERMISSIONS_STATUS_EVENT,
         event => {
           logger.debug(NAMESPACE, 'initAndroidPermissions eventEmitter', event);
           if (event && event.allGranted) {
@@ -47,6 +54,7 @@ export const useAndroidPermissionsStore = create((set, get) => ({
           }
         }
       );
+      GxyUIStateBridge.markEventsReady([PERMISSIONS_STATUS_EVENT]);
       logger.debug(
         NAMESPACE,
         'Permissions status listener set up successfully'
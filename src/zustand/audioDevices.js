@@ -3,9 +3,11 @@ import { create } from 'zustand';
 import { APP_SESSION } from '../libs/sentry/constants';
 import { addSpan, finishSpan } from '../libs/sentry/sentryHelper';
 import AudioBridge from '../services/AudioBridge';
+import GxyUIStateBridge from '../services/GxyUIStateBridge';
 import logger from '../services/logger';
 
 const NAMESPACE = 'AudioDevices';
+const UPDATE_AUDIO_DEVICE_EVENT = 'updateAudioDevice';
 
 const eventEmitter = AudioBridge.getEventEmitter();
 let subscription = null;
@@ -59,16 +61,22 @@ export const useAudioDevicesStore = create((set, get) => ({
       );
 
       subscription = eventEmitter.addListener(
-        'updateAudioDevice',
+        UPDATE_AUDIO_DEVICE_EVENT,
         async data => {
           logger.debug(NAMESPACE, 'updateAudioDevice event received', data);
           const span = addSpan(APP_SESSION, 'updateAudioDevice', data);
 
-          const devices = Object.values(data)
+          // Set by native when the event was held until JS was ready
+          const { replayAgeMs, ...deviceMap } = data;
+          if (replayAgeMs !== undefined) {
+            logger.debug(NAMESPACE, 'updateAudioDevice replayed after', replayAgeMs);
+          }
+
+          const devices = Object.values(deviceMap)
             .map(deviceInfoToOption)
             .sort((a, b) => a.priority - b.priority);
           const selected = deviceInfoToOption(
-            Object.values(data).find(d => d.active)
+            Object.values(deviceMap).find(d => d.active)
           );
 
           logger.debug(NAMESPACE, 'Processed devices:', devices);
@@ -79,6 +87,7 @@ export const useAudioDevicesStore = create((set, get) => ({
         }
       );
 
+      GxyUIStateBridge.markEventsReady([UPDATE_AUDIO_DEVICE_EVENT]);
       logger.debug(NAMESPACE, 'Event listener set up successfully');
       AudioBridge.initAudioDevices();
     } catch (error) {
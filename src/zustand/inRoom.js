@@ -16,6 +16,7 @@ import {
 } from '../libs/sentry/sentryHelper';
 import CallsBridge from '../services/CallsBridge';
 import GxyUIStateBridge from '../services/GxyUIStateBridge';
+import PerfBridge from '../services/PerfBridge';
 import { getBooleanFromStorage } from '../tools';
 import { useChatStore } from './chat';
 import { useFeedsStore } from './feeds';
@@ -26,6 +27,7 @@ import { useShidurStore } from './shidur';
 import { useUiActions } from './uiActions';
 
 const NAMESPACE = 'InRoom';
+const JOIN_TRACE = 'room.join';
 
 let attempts = 0;
 let restartWIP = false;
@@ -47,11 +49,14 @@ export const useInRoomStore = create((set, get) => ({
       return;
     }
 
+    PerfBridge.beginTrace(JOIN_TRACE);
+
     useMyStreamStore.getState().setTimestamp();
 
     if (attempts > 2) {
       logger.warn(NAMESPACE, 'too many attempts, aborting');
       finishTransaction(ROOM_SESSION, 'aborted');
+      PerfBridge.endTrace(JOIN_TRACE, false);
       get().exitRoom();
       alert('Could not connect to the server, please try again later');
       attempts = 0;
@@ -67,6 +72,7 @@ export const useInRoomStore = create((set, get) => ({
     } catch (error) {
       logger.error(NAMESPACE, 'Error waiting for connection', error);
       finishTransaction(ROOM_SESSION, 'internal_error');
+      PerfBridge.endTrace(JOIN_TRACE, false);
       throw error;
     }
     set({ isInRoom: true });
@@ -81,6 +87,7 @@ export const useInRoomStore = create((set, get) => ({
       logger.error(NAMESPACE, 'audio focus or keeping screen on', error);
       finishSpan(deviceSpan, 'internal_error', NAMESPACE);
       finishTransaction(ROOM_SESSION, 'internal_error');
+      PerfBridge.endTrace(JOIN_TRACE, false);
       return get().exitRoom();
     }
 
@@ -94,6 +101,7 @@ export const useInRoomStore = create((set, get) => ({
     try {
       await get().subscribeMqtt();
     } catch (error) {
+      PerfBridge.endTrace(JOIN_TRACE, false);
       throw error;
     }
 
@@ -102,6 +110,7 @@ export const useInRoomStore = create((set, get) => ({
 
     const { room } = useRoomStore.getState();
     CallsBridge.startCall(room?.room || 'unknown');
+    PerfBridge.endTrace(JOIN_TRACE);
   },
 
   safeJoinRoom: async (isPlay = false) => {
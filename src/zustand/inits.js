@@ -8,6 +8,7 @@ import { ROOM_SESSION } from '../libs/sentry/constants';
 import { addFinishSpan } from '../libs/sentry/sentryHelper';
 import CallsBridge from '../services/CallsBridge';
 import GxyUIStateBridge from '../services/GxyUIStateBridge';
+import PerfBridge from '../services/PerfBridge';
 import logger from '../services/logger';
 import { getBooleanFromStorage } from '../tools';
 import { useAudioDevicesStore } from './audioDevices';
@@ -31,6 +32,15 @@ const CLIENT_RECONNECT_TYPES = [
   'client-reload',
   'client-disconnect',
 ];
+const SYSTEM_EVENT = 'system_event';
+const PLAYER_EVENT = 'native_player_event';
+const CALL_STATE_EVENT = 'onCallStateChanged';
+const LATENCY_PROBED_EVENTS = [
+  'updateAudioDevice',
+  CALL_STATE_EVENT,
+  SYSTEM_EVENT,
+];
+
 export const AppInitStates = {
   READY: 1,
   DISCONNECTED: -1,
@@ -241,7 +251,7 @@ export const useInitsStore = create((set, get) => ({
     let _isPlay = false;
     if (Platform.OS === 'android') {
       systemEventSubscription = DeviceEventEmitter.addListener(
-        'system_event',
+        SYSTEM_EVENT,
         async event => {
           logger.debug(NAMESPACE, 'system_event event: ', event);
           if (event.action === 'terminate') {
@@ -266,7 +276,7 @@ export const useInitsStore = create((set, get) => ({
       logger.debug(NAMESPACE, 'system_event listener set up successfully');
 
       playerActionSubscription = DeviceEventEmitter.addListener(
-        'native_player_event',
+        PLAYER_EVENT,
         async data => {
           logger.debug(NAMESPACE, 'native_player_event event: ', data);
           if (data.action === 'join_room') {
@@ -284,13 +294,20 @@ export const useInitsStore = create((set, get) => ({
           }
         }
       );
+      GxyUIStateBridge.markEventsReady([SYSTEM_EVENT, PLAYER_EVENT]);
       logger.debug(NAMESPACE, 'native_player_event listener set up successfully');
+
+      // Events whose handling is latency sensitive: audio routing, PiP and calls.
+      // Each probe costs an extra emit and an ack back: debug builds and debug mode only
+      if (__DEV__ || useSettingsStore.getState().debugMode) {
+        PerfBridge.startEventLatencyProbe(LATENCY_PROBED_EVENTS);
+      }
     }
     logger.debug(NAMESPACE, 'initApp eventEmitter', eventEmitter);
 
     try {
       subscription = eventEmitter.addListener(
-        'onCallStateChanged',
+        CALL_STATE_EVENT,
         async data => {
           logger.debug(NAMESPACE, 'onCallStateChanged EVENT RECEIVED:', data);
           addFinishSpan(ROOM_SESSION, 'onCallStateChanged', {
@@ -313,6 +330,7 @@ export const useInitsStore = create((set, get) => ({
           }
         }
       );
+      GxyUIStateBridge.markEventsReady([CALL_STATE_EVENT]);
     } catch (error) {
       logger.error(NAMESPACE, 'Error initializing app', error);
       throw error;
@@ -351,6 +369,8 @@ export const useInitsStore = create((set, get) => ({
         systemEventSubscription = null;
       }
 
+      PerfBridge.stopEventLatencyProbe();
+
       logger.debug(NAMESPACE, 'terminateServices completed successfully');
     } catch (error) {
       logger.error(